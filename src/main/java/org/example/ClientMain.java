@@ -5,6 +5,7 @@ import org.example.client.CommandProcessor;
 import org.example.message.CommandMessage;
 import org.example.message.Commands;
 import org.example.message.StringMessage;
+import org.example.message.clientHandlers.GameStateDeltaMessageHandler;
 import org.example.message.clientHandlers.GameStateMessageHandler;
 
 import java.util.InputMismatchException;
@@ -19,6 +20,7 @@ public class ClientMain {
         GameState gameState = new GameState();
 
         client.AddHandler(new GameStateMessageHandler(gameState));
+        client.AddHandler(new GameStateDeltaMessageHandler(gameState));
         boolean isYourTurn = true;
 
 
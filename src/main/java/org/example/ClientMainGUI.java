@@ -13,14 +13,18 @@ import org.example.client.GUI.GameScreen;
 import org.example.client.GUI.LobbyScreen;
 import org.example.client.GUI.LoginScreen;
 import org.example.game_logic.BoardType;
+import org.example.game_logic.BotType;
 import org.example.game_logic.Coordinate;
 import org.example.game_logic.RulesType;
 import org.example.message.*;
+import org.example.message.clientHandlers.GameStateDeltaMessageGUIHandler;
 import org.example.message.clientHandlers.GameStateMessageGUIHandler;
 import org.example.message.clientHandlers.PromptMoveMessageHandler;
 import org.example.message.clientHandlers.StringMessageGUIHandler;
 import org.example.message.clientHandlers.UserlistMessageHandler;
 
+import java.util.List;
+
 public class ClientMainGUI extends Application {
 
     private enum ScreenType{
@@ -56,9 +60,9 @@ public class ClientMainGUI extends Application {
 
         loginScreen.setCallbacksHandler(new LoginScreen.CallbacksHandler() {
             @Override
-            public void onConnect(String username, String host, int port) {
+            public void onConnect(String username, String host, int port, String roomId) {
                 if (client.Connect(host, port)) {
-                    client.send(new org.example.message.UsernameMessage(username));
+                    client.send(new org.example.message.UsernameMessage(username, roomId));
                     setScene(ScreenType.LOBBY, primaryStage);
                 } else {
                     showError("Failed to connect to the server.");
@@ -114,8 +118,8 @@ public class ClientMainGUI extends Application {
             }
 
             @Override
-            public void onChangeBotsCount(int botsCount) {
-                client.send(new BotsCountMessage(botsCount));
+            public void onChangeBotsCount(int botsCount, List<BotType> botTypes) {
+                client.send(new BotsCountMessage(botsCount, botTypes));
             }
         });
 
@@ -152,6 +156,7 @@ public class ClientMainGUI extends Application {
             }
         };
         client.AddHandler(new GameStateMessageGUIHandler(gameState, gameScreen));
+        client.AddHandler(new GameStateDeltaMessageGUIHandler(gameState, gameScreen));
         client.AddHandler(new UserlistMessageHandler(lobbyScreen, gameScreen));
         client.AddHandler(new StringMessageGUIHandler(lobbyScreen, gameScreen));
         client.AddHandler(new PromptMoveMessageHandler(gameScreen));
@@ -3,5 +3,46 @@ package org.example;
 public class Config {
     public static final int PORT = 8045;
 
+    // How long a searching bot may think about a single move
+    public static final long BOT_TIME_BUDGET_MILLIS = 500;
+
+    // How many tree iterations an MCTS bot may run for a single move, within the time budget
+    public static final int MCTS_ITERATIONS = 5000;
+
+    // Memory cap of the transposition table shared by the searching bots
+    public static final int TRANSPOSITION_TABLE_MEGABYTES = 16;
+
+    // Threads running the turns of the bots, and the pause before a bot moves so clients can follow
+    public static final int BOT_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    public static final long BOT_MOVE_DELAY_MILLIS = 100;
+
+    // Threads running the commands of the game rooms
+    public static final int ROOM_THREADS = Runtime.getRuntime().availableProcessors();
+
+    // Serve the connections from a few selector threads instead of a thread per connection;
+    // -Dcheckers.nio=false switches back to the blocking transport
+    public static final boolean NIO_TRANSPORT = Boolean.parseBoolean(System.getProperty("checkers.nio", "true"));
+    public static final int IO_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+    // Run the blocking read loops of the server connections and of the client on virtual threads
+    // instead of platform threads; -Dcheckers.virtualThreads=true
+    public static final boolean VIRTUAL_THREADS = Boolean.parseBoolean(System.getProperty("checkers.virtualThreads", "false"));
+
+    // Offer and accept the compact binary codec instead of Java serialization; -Dcheckers.binary=false
+    public static final boolean BINARY_PROTOCOL = Boolean.parseBoolean(System.getProperty("checkers.binary", "true"));
+
+    // Frames a connection may have waiting for a slow client; when they are full, game state updates are coalesced,
+    // chat is dropped and anything else disconnects the client. -Dcheckers.disconnectSlowConsumers=true always disconnects
+    public static final int OUTBOUND_QUEUE_FRAMES = Integer.getInteger("checkers.outboundFrames", 1024);
+    public static final boolean DISCONNECT_SLOW_CONSUMERS = Boolean.parseBoolean(System.getProperty("checkers.disconnectSlowConsumers", "false"));
+
+    // Moves of a saved game are written together once this long has passed since the first of them,
+    // and a failed write is tried this many times before its moves are given up
+    public static final long JOURNAL_FLUSH_MILLIS = 50;
+    public static final int JOURNAL_MAX_ATTEMPTS = 5;
+
+    // A saved game stores its position every this many moves, so resuming it replays fewer moves than that
+    public static final int SNAPSHOT_INTERVAL_MOVES = 32;
+
     private Config() {}
 }
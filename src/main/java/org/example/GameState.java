@@ -14,6 +14,7 @@ public final class GameState implements Serializable, Cloneable {
 
     private Board board;  // The current game board
     private boolean isRunning;
+    private long sequence; // Counts the changes of the state, so a delta can tell whether it follows on
 
     /**
      * Constructs a GameState with the specified board and running state.
@@ -60,6 +61,7 @@ public final class GameState implements Serializable, Cloneable {
     public void setState(final GameState state) {
         this.isRunning = state.isRunning;
         this.board = state.board;
+        this.sequence = state.sequence;
     }
 
     /**
@@ -71,6 +73,24 @@ public final class GameState implements Serializable, Cloneable {
         this.isRunning = b;
     }
 
+    /**
+     * Gets the sequence number of the state, raised by one with every change sent to the clients.
+     *
+     * @return the sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Sets the sequence number of the state.
+     *
+     * @param sequence the sequence number
+     */
+    public void setSequence(final long sequence) {
+        this.sequence = sequence;
+    }
+
     /**
      * Sets the current game board.
      *
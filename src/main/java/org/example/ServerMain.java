@@ -3,6 +3,7 @@ package org.example;
 import org.example.game_logic.StandardBoard;
 import org.example.message.serverHandlers.*;
 import org.example.server.GameManager;
+import org.example.server.RoomRegistry;
 import org.example.server.Server;
 import org.example.server.ServerCallbacksHandler;
 import org.example.server.ServerConnection;
@@ -12,26 +13,27 @@ public class ServerMain {
 
         System.out.println("Hello World from Server!");
 
-        GameManager gameManager = GameManager.create();
+        RoomRegistry rooms = new RoomRegistry(roomId -> {
+            GameManager gameManager = new GameManager(roomId);
+            gameManager.setBoard(new StandardBoard());
+            return gameManager;
+        });
 
         Server server = Server.create();
         server.serverCallbacksHandler = new ServerCallbacksHandler() {
             @Override
             public void onConnectionClosed(ServerConnection connection) {
                 super.onConnectionClosed(connection);
-                gameManager.removeUser(connection);
-                gameManager.synchronizeUsers();
+                rooms.leave(connection);
             }
         };
 
-        gameManager.setBoard(new StandardBoard());
-
-        server.AddHandler(new MoveMessageHandler(gameManager));
-        server.AddHandler(new CommandMessageHandler(gameManager));
-        server.AddHandler(new UsernameMessageHandler(gameManager));
-        server.AddHandler(new RuleTypeMessageHandler(gameManager));
-        server.AddHandler(new BoardTypeMessageHandler(gameManager));
-        server.AddHandler(new EndTurnMessageHandler(gameManager));
+        server.AddHandler(new MoveMessageHandler(rooms));
+        server.AddHandler(new CommandMessageHandler(rooms));
+        server.AddHandler(new UsernameMessageHandler(rooms));
+        server.AddHandler(new RuleTypeMessageHandler(rooms));
+        server.AddHandler(new BoardTypeMessageHandler(rooms));
+        server.AddHandler(new EndTurnMessageHandler(rooms));
         server.Bind(Config.PORT);
         server.Listen();
 
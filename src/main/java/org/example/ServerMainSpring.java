@@ -3,14 +3,19 @@ package org.example;
 import org.example.game_logic.Agent;
 import org.example.game_logic.Move;
 import org.example.game_logic.StandardBoard;
+import org.example.message.StringMessage;
 import org.example.message.serverHandlers.*;
 import org.example.server.*;
 import org.example.server.db.GameDocument;
 import org.example.server.db.GameService;
+import org.example.server.db.MoveJournal;
+import org.example.server.db.PackedMoves;
+import org.example.server.db.PositionSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.dao.DuplicateKeyException;
 
 import java.util.Scanner;
 
@@ -20,6 +25,9 @@ public class ServerMainSpring implements CommandLineRunner {
     @Autowired
     private GameService gameService;
 
+    @Autowired
+    private MoveJournal moveJournal;
+
     public static void main(String[] args) {
         SpringApplication.run(ServerMainSpring.class, args);
     }
@@ -28,32 +36,83 @@ public class ServerMainSpring implements CommandLineRunner {
     public void run(String... args) throws Exception {
         System.out.println("Hello World from Server!");
 
-        GameManager gameManager = GameManager.create();
+        RoomRegistry rooms = new RoomRegistry(this::createRoom);
 
         Server server = Server.create();
         server.serverCallbacksHandler = new ServerCallbacksHandler() {
             @Override
             public void onConnectionClosed(ServerConnection connection) {
                 super.onConnectionClosed(connection);
-                gameManager.removeUser(connection);
-                gameManager.synchronizeUsers();
+                rooms.leave(connection);
             }
         };
 
-        gameManager.gameManagerCallbackHandler = new GameManagerCallbackHandler() {
+        server.AddHandler(new MoveMessageHandler(rooms));
+        server.AddHandler(new CommandMessageHandler(rooms));
+        server.AddHandler(new UsernameMessageHandler(rooms));
+        server.AddHandler(new RuleTypeMessageHandler(rooms));
+        server.AddHandler(new BoardTypeMessageHandler(rooms));
+        server.AddHandler(new EndTurnMessageHandler(rooms));
+        server.AddHandler(new GameNameMessageHandler(rooms));
+        server.AddHandler(new LoadGameMessageHandler(rooms, gameService));
+        server.AddHandler(new SetBotsCountMessageHandler(rooms));
+        server.Bind(Config.PORT);
+        server.Listen();
+
+        Scanner scanner = new Scanner(System.in);
+        String input;
+
+        do {
+            input = scanner.nextLine();
+        } while (!input.equals("exit"));
+        server.Shutdown();
+    }
+
+    /**
+     * Creates the game manager of a new room, saving its games through the {@link GameService}.
+     * Moves and turns are written behind the game by the {@link MoveJournal}, so the room never waits for the database.
+     * Every {@link Config#SNAPSHOT_INTERVAL_MOVES} moves, the position at the end of the turn is saved with them.
+     * A resumed game is saved on in the document it was loaded from, unless it was renamed.
+     */
+    private GameManager createRoom(String roomId) {
+        GameManager gameManager = new GameManager(roomId);
+        gameManager.gameManagerCallbackHandler = new GameManagerCallbackHandler(gameManager) {
             GameDocument game;
             boolean isSaved = false;
+            int movesSaved;
+            int movesAtSnapshot;
 
             @Override
             public void onGameStarted() {
                 super.onGameStarted();
                 isSaved = !(gameManager.getGameName() == null || gameManager.getGameName().isEmpty());
+                movesSaved = 0;
+                movesAtSnapshot = 0;
                 if(isSaved) {
-                    game = gameService.startNewGame();
+                    GameDocument resumed = gameManager.getResumedGame();
+                    if (resumed != null && GameDocument.normalizeName(gameManager.getGameName()).equals(resumed.getNormalizedName())) {
+                        // Kept under its name, a resumed game goes on in the document it was loaded from
+                        game = resumed;
+                        movesSaved = resumed.getPackedMoves().length;
+                        movesAtSnapshot = resumed.getSnapshot() == null ? 0 : resumed.getSnapshot().getMoveCount();
+                        return;
+                    }
+                    try {
+                        game = gameService.startNewGame(gameManager.getGameName());
+                    } catch (DuplicateKeyException e) {
+                        isSaved = false;
+                        broadcast(new StringMessage("Game not saved: the name " + gameManager.getGameName() + " is taken"));
+                        return;
+                    }
                     game.setBoardType(gameManager.getBoardType());
                     game.setRulesType(gameManager.getRulesType());
                     game.setPlayersCount(gameManager.getPlayersCount());
-                    game.setName(gameManager.getGameName());
+                    game.setLayoutSeed(gameManager.getLayoutSeed());
+                    if (resumed != null) {
+                        // Saved under a new name, only the moves from here on are stored, so they start from this position
+                        game.setCurrentTurn(gameManager.getCurrentTurn());
+                        game.setSnapshot(PositionSnapshot.of(gameManager.getBoard(), 0, gameManager.getCurrentTurn()));
+                    }
 
                     gameService.saveGame(game);
                 }
@@ -63,8 +122,13 @@ public class ServerMainSpring implements CommandLineRunner {
             public void onValidMove(Agent agent, Move move, String s) {
                 super.onValidMove(agent, move, s);
 
+                if(isSaved && moveJournal.isAbandoned(game.getId())) {
+                    isSaved = false;
+                    broadcast(new StringMessage("Game " + gameManager.getGameName() + " could not be saved and is no longer saved"));
+                }
                 if(isSaved){
-                    gameService.saveMove(game, org.example.server.db.Move.fromMove(move));
+                    moveJournal.appendMove(game.getId(), movesSaved, PackedMoves.pack(move));
+                    movesSaved++;
                 }
             }
 
@@ -73,31 +137,15 @@ public class ServerMainSpring implements CommandLineRunner {
                 super.onTurnChange(oldTurn, currentTurn, turnIndex);
 
                 if(isSaved){
-                    game.setCurrentTurn(turnIndex);
-                    gameService.saveGame(game);
+                    moveJournal.setCurrentTurn(game.getId(), turnIndex);
+                    if (movesSaved - movesAtSnapshot >= Config.SNAPSHOT_INTERVAL_MOVES) {
+                        moveJournal.setSnapshot(game.getId(), PositionSnapshot.of(gameManager.getBoard(), movesSaved, turnIndex));
+                        movesAtSnapshot = movesSaved;
+                    }
                 }
             }
         };
         gameManager.setBoard(new StandardBoard());
-
-        server.AddHandler(new MoveMessageHandler(gameManager));
-        server.AddHandler(new CommandMessageHandler(gameManager));
-        server.AddHandler(new UsernameMessageHandler(gameManager));
-        server.AddHandler(new RuleTypeMessageHandler(gameManager));
-        server.AddHandler(new BoardTypeMessageHandler(gameManager));
-        server.AddHandler(new EndTurnMessageHandler(gameManager));
-        server.AddHandler(new GameNameMessageHandler(gameManager));
-        server.AddHandler(new LoadGameMessageHandler(gameManager, gameService));
-        server.AddHandler(new SetBotsCountMessageHandler(gameManager));
-        server.Bind(Config.PORT);
-        server.Listen();
-
-        Scanner scanner = new Scanner(System.in);
-        String input;
-
-        do {
-            input = scanner.nextLine();
-        } while (!input.equals("exit"));
-        server.Shutdown();
+        return gameManager;
     }
 }
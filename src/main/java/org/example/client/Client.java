@@ -1,19 +1,22 @@
 package org.example.client;
 
+import org.example.Config;
 import org.example.message.*;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.net.ConnectException;
 import java.net.Socket;
 import java.net.SocketException;
 import java.net.UnknownHostException;
-import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Client class used to connect to the server
@@ -26,13 +29,19 @@ public class Client implements Runnable{
     //the socket used to connect to the server
     private Socket socket;
 
-    //the output and input streams used to send and receive messages
-    private ObjectOutputStream oos;
-    private ObjectInputStream ois;
+    //the output and input streams used to send and receive message frames
+    private DataOutputStream out;
+    private DataInputStream in;
+
+    //the codec messages are sent with, switched to binary once the server has accepted it
+    private volatile MessageCodec codec = MessageCodec.SERIALIZATION;
+
+    //serializes the writes of the threads sending to the server without pinning virtual threads
+    private final ReentrantLock sendLock = new ReentrantLock();
 
     //handlers for the different types of messages
     private final Queue<MessageSenderPair> messageQueue = new LinkedList<>();
-    private final List<MessageHandler> messageHandlers =  new ArrayList<>();
+    private final MessageDispatcher dispatcher = new MessageDispatcher();
 
     public ClientCallbacksHandler clientCallbacksHandler= new ClientCallbacksHandler();
 
@@ -64,12 +73,16 @@ public class Client implements Runnable{
         {
             socket = new Socket(host, port);
 
-            oos = new ObjectOutputStream(socket.getOutputStream());
-            ois = new ObjectInputStream(socket.getInputStream());
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            codec = MessageCodec.SERIALIZATION;
+
+            //offer the binary codec; servers that do not answer keep being sent serialized messages
+            if (Config.BINARY_PROTOCOL)
+                send(new CodecMessage(MessageCodec.BINARY_VERSION));
 
             //the thread used to listen for messages from the server
-            Thread listenerThread = new Thread(this);
-            listenerThread.start();
+            (Config.VIRTUAL_THREADS ? Thread.ofVirtual() : Thread.ofPlatform()).name("client-listener").start(this);
 
             clientCallbacksHandler.onConnect();
 
@@ -101,6 +114,17 @@ public class Client implements Runnable{
             Message msg;
             while (socket != null && socket.isConnected()) {  // Check socket connection
                 msg = read();
+                if (msg != null && msg.getType() == MessageType.CODEC) {
+                    boolean binary = ((CodecMessage) msg).getBinaryVersion() == MessageCodec.BINARY_VERSION;
+                    codec = binary ? MessageCodec.BINARY : MessageCodec.SERIALIZATION;
+                    continue;
+                }
+                if (msg != null && msg.getType() == MessageType.BATCH) {
+                    //a batch holds what the server sent for one event; handle its messages in order
+                    for (Message batched : ((BatchMessage) msg).getMessages())
+                        AddMessageToQueue(batched);
+                    continue;
+                }
                 AddMessageToQueue(msg);
             }
         } catch (Exception ex) {
@@ -155,9 +179,10 @@ public class Client implements Runnable{
      */
     public <T extends Message> boolean send(T message)
     {
+        sendLock.lock();
         try
         {
-            oos.writeObject(message);
+            MessageFrames.write(out, message, codec);
             clientCallbacksHandler.onMessageSent(message);
 
             return true;
@@ -170,13 +195,17 @@ public class Client implements Runnable{
             e.printStackTrace();
             return false;
         }
+        finally
+        {
+            sendLock.unlock();
+        }
     }
 
     public Message read()
     {
         try
         {
-            return (Message) ois.readObject();
+            return MessageFrames.read(in);
         }
         catch (EOFException e) {
             Disconnect();
@@ -195,30 +224,26 @@ public class Client implements Runnable{
 
     public void AddHandler(MessageHandler handler)
     {
-        messageHandlers.add(handler);
+        dispatcher.add(handler);
     }
 
     public List<MessageHandler> getMessageHandlersOfType(MessageType type) {
-        List<MessageHandler> handlers = new ArrayList<>();
-        for (MessageHandler messageHandler : messageHandlers) {
-            if(messageHandler.getMessageType() == type) {
-                handlers.add(messageHandler);
-            }
-        }
+        return List.of(dispatcher.handlersOf(type));
+    }
 
-        return handlers;
+    /**
+     * @param type the message type
+     * @return how long handling the received messages of the type took
+     */
+    public LatencyHistogram getDispatchLatency(MessageType type) {
+        return dispatcher.getLatency(type);
     }
 
     public void HandleMessages()
     {
         while(!messageQueue.isEmpty())
         {
-            MessageSenderPair messageSenderPair = messageQueue.poll();
-
-            for(MessageHandler messageHandler : getMessageHandlersOfType(messageSenderPair.getMessageType()))
-            {
-                messageHandler.handle(messageSenderPair);
-            }
+            dispatcher.dispatch(messageQueue.poll());
         }
     }
 
@@ -31,6 +31,7 @@ public class GameScreen extends BorderPane {
 
     private final VBox usersList;
     private final VBox playersList;
+    private String[] players; // the players of the last full game state
 
     private final Label serverMessage;
 
@@ -153,6 +154,7 @@ public class GameScreen extends BorderPane {
     }
 
     public void updatePlayerList(String[] players, int turn) {
+        this.players = players;
         Platform.runLater(() -> {
             playersList.getChildren().clear();
             for (String player : players) {
@@ -165,6 +167,17 @@ public class GameScreen extends BorderPane {
         });
     }
 
+    /**
+     * Highlights the player whose turn it is in the player list of the last game state.
+     *
+     * @param turn the index of the player to move
+     */
+    public void updateTurn(int turn) {
+        if (players != null && turn < players.length) {
+            updatePlayerList(players, turn);
+        }
+    }
+
     public void updateAllUsers(String[] allUsers) {
         Platform.runLater(() -> {
             usersList.getChildren().clear();
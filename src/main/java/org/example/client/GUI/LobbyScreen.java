@@ -11,9 +11,12 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import org.example.game_logic.BoardType;
+import org.example.game_logic.BotType;
 import org.example.game_logic.RulesType;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 // TODO: Add variants selecting
@@ -32,7 +35,7 @@ public class LobbyScreen extends BorderPane {
         public abstract void onChangeRulesType(RulesType rulesType);
         public abstract void onSetGameToBeLoaded(String gameName);
         public abstract void onChangeGameName(String gameName);
-        public abstract void onChangeBotsCount(int botsCount);
+        public abstract void onChangeBotsCount(int botsCount, List<BotType> botTypes);
     }
 
     private CallbacksHandler callbacksHandler;
@@ -117,13 +120,23 @@ public class LobbyScreen extends BorderPane {
         Label botsCountLabel = new Label("Bots count");
         TextField botsCountField = new TextField();
         botsCountField.setPromptText("Enter bots count");
+        TextField botTypesField = new TextField();
+        botTypesField.setPromptText("Bot types, e.g. HEURISTIC,MCTS");
         Button updateBotsCountButton = new Button("Update");
         updateBotsCountButton.setOnAction(e -> {
             try {
                 int botsCount = Integer.parseInt(botsCountField.getText());
-                callbacksHandler.onChangeBotsCount(botsCount);
+                List<BotType> botTypes = new ArrayList<>();
+                for (String botType : botTypesField.getText().split(",")) {
+                    if (!botType.isBlank()) {
+                        botTypes.add(BotType.valueOf(botType.trim().toUpperCase()));
+                    }
+                }
+                callbacksHandler.onChangeBotsCount(botsCount, botTypes);
             } catch (NumberFormatException ex) {
                 callbacksHandler.onError("Invalid bots count");
+            } catch (IllegalArgumentException ex) {
+                callbacksHandler.onError("Invalid bot type");
             }
         });
 
@@ -150,6 +163,7 @@ public class LobbyScreen extends BorderPane {
         options.add(botsCountLabel, 0, 5);
         options.add(botsCountField, 1, 5);
         options.add(updateBotsCountButton, 2, 5);
+        options.add(botTypesField, 1, 6);
 
         Button startGameButton = new Button("Start game");
         startGameButton.setOnAction(e -> callbacksHandler.onGameStart());
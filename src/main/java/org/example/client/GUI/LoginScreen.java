@@ -15,9 +15,10 @@ import java.util.Objects;
 public class LoginScreen extends BorderPane {
 
     public abstract static class CallbacksHandler {
-        public void onConnect(String username, String ip, int port)
+        public void onConnect(String username, String ip, int port, String roomId)
         {
             System.out.println("Username: " + username);
+            System.out.println("Room: " + roomId);
             System.out.println("IP: " + ip);
             System.out.println("Port: " + port);
         }
@@ -58,6 +59,10 @@ public class LoginScreen extends BorderPane {
         portTextField.setPromptText("Enter server port");
         portTextField.setText(Integer.toString(Config.PORT));
 
+        Label roomLabel = new Label("Room");
+        TextField roomTextField = new TextField();
+        roomTextField.setPromptText("Leave empty for the main room");
+
         Button connectButton = new Button("Connect");
         connectButton.setOnAction(ActionEvent -> {
             String username = usernameTextField.getText();
@@ -93,7 +98,7 @@ public class LoginScreen extends BorderPane {
                 return;
             }
 
-            callbacksHandler.onConnect(username, ip, port);
+            callbacksHandler.onConnect(username, ip, port, roomTextField.getText());
         });
 
         gridPane.setMinSize(300, 300);
@@ -108,6 +113,8 @@ public class LoginScreen extends BorderPane {
         gridPane.add(ipTextField, 1, 1);
         gridPane.add(portLabel, 0, 2);
         gridPane.add(portTextField, 1, 2);
+        gridPane.add(roomLabel, 0, 3);
+        gridPane.add(roomTextField, 1, 3);
 
         VBox vbox = new VBox();
         vbox.getChildren().addAll(gridPane, connectButton);
@@ -0,0 +1,170 @@
+package org.example.game_logic;
+
+import java.util.Arrays;
+
+/**
+ * A variant of the {@link StandardBoard} that serves occupancy and pawn lookups from dense arrays.
+ * The 121 cells of the star are indexed 0..120 (see {@link Node#getIndex()}), occupancy is kept
+ * in a pair of {@code long} words and pawns are stored in an array indexed by cell,
+ * so {@link #getNode(Coordinate)}, {@link #getPawn(Node)} and {@link #move(Move)} avoid hashing entirely.
+ * The array is the only table of pawns: the hash map of {@link Board} stays empty for this board.
+ */
+public final class BitBoard extends StandardBoard {
+
+    private static final long serialVersionUID = 1L;
+
+    // Span of the coordinates used by the star layout
+    private static final int WIDTH = 25;
+    private static final int HEIGHT = 17;
+
+    /**
+     * Maps {@code y * WIDTH + x} to the index of the node at that coordinate, or -1 if there is none.
+     */
+    private int[] cellIndex = new int[WIDTH * HEIGHT];
+
+    /**
+     * Pawns indexed by the index of the node they occupy.
+     */
+    private Pawn[] pawnAt = new Pawn[0];
+
+    /**
+     * Number of pawns added since the board was generated, used to number the next one.
+     */
+    private int pawnCount;
+
+    /**
+     * Occupancy of all agents combined, cells 0..63 and 64..127.
+     */
+    private long occupiedLow;
+    private long occupiedHigh;
+
+    /**
+     * Generates the nodes of the board and builds the dense lookup tables.
+     */
+    @Override
+    public void generateBoard() {
+        super.generateBoard();
+        Arrays.fill(cellIndex, -1);
+        for (int i = 0; i < getNodeCount(); i++) {
+            Node node = getNode(i);
+            cellIndex[node.getYCoordinate() * WIDTH + node.getXCoordinate()] = i;
+        }
+        pawnAt = new Pawn[getNodeCount()];
+        pawnCount = 0;
+        occupiedLow = 0L;
+        occupiedHigh = 0L;
+    }
+
+    /**
+     * Retrieves a node by its coordinates using the dense lookup table.
+     *
+     * @param coordinate the {@link Coordinate} of the node to retrieve.
+     * @return the {@link Node} at the specified coordinate, or null if it does not exist.
+     */
+    @Override
+    public Node getNode(Coordinate coordinate) {
+        int x = coordinate.getX();
+        int y = coordinate.getY();
+        if (x < 0 || x >= WIDTH || y < 0 || y >= HEIGHT) {
+            return null;
+        }
+        int index = cellIndex[y * WIDTH + x];
+        return index < 0 ? null : getNode(index);
+    }
+
+    @Override
+    public void addPawn(Coordinate coordinate, Agent owner) {
+        addPawn(getNode(coordinate), owner);
+    }
+
+    @Override
+    public void addPawn(Node node, Agent owner) {
+        Pawn pawn = new Pawn(++pawnCount, owner, node);
+        node.setOccupied(pawn);
+        set(node.getIndex(), pawn);
+        hashPawn(node, pawn);
+    }
+
+    /**
+     * Retrieves the pawn located at a specific node.
+     *
+     * @param node the {@link Node} to check.
+     * @return the {@link Pawn} located at the node, or null if the node is unoccupied.
+     */
+    @Override
+    public Pawn getPawn(Node node) {
+        int index = node.getIndex();
+        return index < 0 || index >= pawnAt.length ? null : pawnAt[index];
+    }
+
+    /**
+     * Updates the position of a pawn from one node to another in the dense tables.
+     * Handles locking the pawn in the base if it reaches its destination.
+     *
+     * @param start the {@link Node} where the pawn currently resides.
+     * @param end   the {@link Node} where the pawn is being moved to.
+     */
+    @Override
+    public void updatePawnPosition(Node start, Node end) {
+        Pawn pawn = pawnAt[start.getIndex()];
+        start.setUnoccupied(pawn);
+        clear(start.getIndex());
+        hashPawn(start, pawn);
+        if (end.getBaseId() == pawn.getOwner().getFinishBaseIndex()) {
+            pawn.makeBaseLocked();
+        }
+        end.setOccupied(pawn);
+        set(end.getIndex(), pawn);
+        hashPawn(end, pawn);
+    }
+
+    @Override
+    public boolean isOccupied(int index) {
+        long word = index < 64 ? occupiedLow : occupiedHigh;
+        return (word & (1L << index)) != 0;
+    }
+
+    private void set(int index, Pawn pawn) {
+        pawnAt[index] = pawn;
+        long bit = 1L << index;
+        if (index < 64) {
+            occupiedLow |= bit;
+        } else {
+            occupiedHigh |= bit;
+        }
+    }
+
+    private void clear(int index) {
+        pawnAt[index] = null;
+        long bit = ~(1L << index);
+        if (index < 64) {
+            occupiedLow &= bit;
+        } else {
+            occupiedHigh &= bit;
+        }
+    }
+
+    /**
+     * Creates and returns a deep copy of the BitBoard.
+     *
+     * @return A cloned instance of the current board.
+     * @throws CloneNotSupportedException if cloning fails.
+     */
+    @Override
+    public BitBoard clone() throws CloneNotSupportedException {
+        BitBoard cloned = (BitBoard) super.clone();
+        // Point the pawn table at the pawns of the cloned nodes
+        cloned.pawnAt = new Pawn[this.pawnAt.length];
+        for (int i = 0; i < cloned.pawnAt.length; i++) {
+            if (this.pawnAt[i] != null) {
+                cloned.pawnAt[i] = cloned.getNode(i).getOccupant();
+            }
+        }
+        return cloned;
+    }
+
+    @Override
+    public BoardType getBoardType() {
+        return BoardType.BITBOARD;
+    }
+}
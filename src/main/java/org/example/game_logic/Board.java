@@ -1,8 +1,10 @@
 package org.example.game_logic;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -10,7 +12,11 @@ import java.util.Set;
  * Abstract representation of a game board.
  * Provides methods to manage nodes, pawns, and bases, and enforces game-specific rules.
  */
-public abstract class Board implements Serializable, Cloneable {
+public abstract class Board implements Occupancy, Serializable, Cloneable {
+
+    // Layout of the undo tokens returned by applyMove
+    private static final int UNDO_INDEX_MASK = 0x7F;
+    private static final int UNDO_LOCKED = 1 << 14;
 
     /**
      * Abstract method to generate the structure of the board.
@@ -47,6 +53,11 @@ public abstract class Board implements Serializable, Cloneable {
      */
     private Map<Coordinate, Node> Nodes = new HashMap<>();
 
+    /**
+     * Nodes of the board indexed densely in the order they were added.
+     */
+    private List<Node> IndexedNodes = new ArrayList<>();
+
     /**
      * Map storing bases on the board, where each base ID maps to a set of nodes.
      */
@@ -57,6 +68,16 @@ public abstract class Board implements Serializable, Cloneable {
      */
     private Map<Node, Pawn> Pawns = new HashMap<>();
 
+    /**
+     * Zobrist hash of the pawn placement and the side to move, maintained incrementally.
+     */
+    private long positionHash = 0L;
+
+    /**
+     * Index of the agent whose turn it is, as far as the position hash is concerned.
+     */
+    private int sideToMove = 0;
+
     /**
      * Retrieves the bases on the board.
      * @return a map where the key is the base ID and the value is a set of nodes in that base.
@@ -82,12 +103,58 @@ public abstract class Board implements Serializable, Cloneable {
         return Nodes.get(coordinate);
     }
 
+    /**
+     * Retrieves a specific node by its dense index.
+     * @param index the index of the node, as returned by {@link Node#getIndex()}.
+     * @return the {@link Node} with the specified index.
+     */
+    public Node getNode(int index) {
+        return IndexedNodes.get(index);
+    }
+
+    /**
+     * Retrieves the number of nodes on the board.
+     * @return the number of nodes, which is also the upper bound (exclusive) of node indices.
+     */
+    public int getNodeCount() {
+        return IndexedNodes.size();
+    }
+
+    /**
+     * Checks whether the node with the given index is occupied by a pawn.
+     * @param index the index of the node to check.
+     * @return true if the node is occupied, false otherwise.
+     */
+    @Override
+    public boolean isOccupied(int index) {
+        return IndexedNodes.get(index).getIsOccupied();
+    }
+
+    /**
+     * Retrieves the base ID of the node with the given index.
+     * @param index the index of the node.
+     * @return the base ID, or -1 if the node does not belong to any base.
+     */
+    @Override
+    public int getBaseId(int index) {
+        return IndexedNodes.get(index).getBaseId();
+    }
+
     /**
      * Adds a new node to the board at the specified coordinate.
+     * If a node already exists at the coordinate, it is replaced and keeps its index.
      * @param coordinate the {@link Coordinate} where the node will be placed.
      */
     public void addNode(Coordinate coordinate) {
-        Nodes.put(coordinate, new Node(coordinate.getX(), coordinate.getY()));
+        Node node = new Node(coordinate.getX(), coordinate.getY());
+        Node previous = Nodes.put(coordinate, node);
+        if (previous != null && previous.getIndex() >= 0) {
+            node.setIndex(previous.getIndex());
+            IndexedNodes.set(previous.getIndex(), node);
+        } else {
+            node.setIndex(IndexedNodes.size());
+            IndexedNodes.add(node);
+        }
     }
 
     /**
@@ -100,6 +167,7 @@ public abstract class Board implements Serializable, Cloneable {
         Pawn pawn = new Pawn(Pawns.size() + 1, owner, node);
         Pawns.put(node, pawn);
         node.setOccupied(pawn);
+        hashPawn(node, pawn);
     }
 
     /**
@@ -110,6 +178,7 @@ public abstract class Board implements Serializable, Cloneable {
     public void addPawn(Node node, Agent owner) {
         Pawns.put(node, new Pawn(Pawns.size() + 1, owner, node));
         node.setOccupied(Pawns.get(node));
+        hashPawn(node, Pawns.get(node));
     }
 
     /**
@@ -131,11 +200,111 @@ public abstract class Board implements Serializable, Cloneable {
         Pawn pawn = Pawns.get(start);
         start.setUnoccupied(pawn);
         Pawns.remove(start);
+        hashPawn(start, pawn);
         if (end.getBaseId() == pawn.getOwner().getFinishBaseIndex()) {
             pawn.makeBaseLocked();
         }
         Pawns.put(end, pawn);
         end.setOccupied(pawn);
+        hashPawn(end, pawn);
+    }
+
+    /**
+     * Retrieves the 64-bit Zobrist hash of the current position.
+     * The hash covers which agent owns a pawn on which node and whose turn it is,
+     * and is updated incrementally whenever a pawn is added or moved.
+     * @return the hash of the position.
+     */
+    public long positionHash() {
+        return positionHash;
+    }
+
+    /**
+     * Sets the agent whose turn it is, updating the position hash.
+     * @param side the index of the agent to move.
+     */
+    public void setSideToMove(int side) {
+        positionHash ^= ZobristKeys.side(sideToMove) ^ ZobristKeys.side(side);
+        sideToMove = side;
+    }
+
+    /**
+     * Retrieves the agent whose turn it is, as set by {@link #setSideToMove(int)}.
+     * @return the index of the agent to move.
+     */
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Toggles a pawn on a node in the position hash. Called both when the pawn arrives and when it leaves.
+     * @param node the node the pawn arrives on or leaves.
+     * @param pawn the pawn.
+     */
+    void hashPawn(Node node, Pawn pawn) {
+        if (node.getIndex() >= 0) {
+            positionHash ^= ZobristKeys.pawn(node.getIndex(), pawn.getOwner().getId());
+        }
+    }
+
+    /**
+     * Resets the position hash to that of an empty board with the first agent to move.
+     * Called when the board is generated anew.
+     */
+    protected void resetPositionHash() {
+        positionHash = 0L;
+        sideToMove = 0;
+    }
+
+    /**
+     * Moves a pawn for the purpose of searching, without recording the move in the board's history.
+     * The returned token can be passed to {@link #undoMove(int)} to restore the board exactly.
+     * @param move the {@link Move} to apply.
+     * @return the undo token of the move.
+     * @throws IllegalStateException if no pawn exists at the starting node.
+     */
+    public int applyMove(Move move) {
+        return applyMove(move.getStart().getIndex(), move.getEnd().getIndex());
+    }
+
+    /**
+     * Moves a pawn between two nodes given by their indices, without recording the move in the board's history.
+     * The returned token packs the start index (bits 0-6), the end index (bits 7-13)
+     * and the previous base lock of the pawn (bit 14), so boards of up to 128 nodes are supported.
+     * @param start the index of the node the pawn is on.
+     * @param end the index of the node the pawn is moved to.
+     * @return the undo token of the move.
+     * @throws IllegalStateException if no pawn exists at the starting node.
+     */
+    public int applyMove(int start, int end) {
+        Node startNode = getNode(start);
+        Node endNode = getNode(end);
+        Pawn pawn = getPawn(startNode);
+        if (pawn == null) {
+            throw new IllegalStateException("No pawn at the starting node!");
+        }
+        int token = start | end << 7 | (pawn.isBaseLocked() ? UNDO_LOCKED : 0);
+        pawn.updatePosition(endNode);
+        updatePawnPosition(startNode, endNode);
+        return token;
+    }
+
+    /**
+     * Reverts a move made with {@link #applyMove(int, int)}, restoring occupancy, the pawn's location
+     * and its base lock. Moves must be undone in the reverse order they were applied.
+     * @param token the undo token returned by applyMove.
+     */
+    public void undoMove(int token) {
+        Node startNode = getNode(token & UNDO_INDEX_MASK);
+        Node endNode = getNode((token >>> 7) & UNDO_INDEX_MASK);
+        Pawn pawn = getPawn(endNode);
+        pawn.updatePosition(startNode);
+        updatePawnPosition(endNode, startNode);
+        if ((token & UNDO_LOCKED) != 0) {
+            pawn.makeBaseLocked();
+        } else {
+            pawn.makeNotBaseLocked();
+        }
     }
 
     /**
@@ -150,6 +319,14 @@ public abstract class Board implements Serializable, Cloneable {
 
     public abstract int calculateDistance(Node start, Node end);
 
+    /**
+     * Retrieves the precomputed geometry of the board layout.
+     * @return the {@link BoardGeometry} shared by all boards of the same {@link BoardType}.
+     */
+    public BoardGeometry getGeometry() {
+        return getBoardType().getGeometry();
+    }
+
     /**
      * Creates a deep clone of the board, including its nodes, pawns, and bases.
      * @return a deep-cloned copy of the board.
@@ -171,6 +348,12 @@ public abstract class Board implements Serializable, Cloneable {
             cloned.Nodes.put(entry.getKey(), entry.getValue().clone());
         }
 
+        // Rebuild the dense index from the cloned nodes
+        cloned.IndexedNodes = new ArrayList<>(this.IndexedNodes.size());
+        for (Node node : this.IndexedNodes) {
+            cloned.IndexedNodes.add(cloned.Nodes.get(node.getCoordinate()));
+        }
+
         // Deep copy of Bases map
         cloned.Bases = new HashMap<>();
         for (Map.Entry<Integer, Set<Node>> entry : this.Bases.entrySet()) {
@@ -0,0 +1,134 @@
+package org.example.game_logic;
+
+import org.example.SerializableColor;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compact binary form of a {@link Board}, used by the binary wire protocol.
+ * Only what cannot be rebuilt from the {@link BoardType} is written: the agents, the node of every pawn
+ * as a single byte with its lock in the top bit, whose turn it is and the move history as pairs of node bytes.
+ * Reading generates a fresh board of the same type and places the pawns again in the order they were added,
+ * so the board ends up with the same pawns, locks and position hash.
+ */
+public final class BoardCodec {
+
+    // Node indices fit in 7 bits, the top bit of a pawn byte tells whether the pawn is locked
+    private static final int LOCKED_BIT = 0x80;
+
+    private static final int FLAG_PLAYER = 1;
+    private static final int FLAG_WON = 2;
+    private static final int FLAG_COLOR = 4;
+
+    private BoardCodec() {}
+
+    /**
+     * Writes the board.
+     *
+     * @param board the board to write
+     * @param out where to write it
+     */
+    public static void write(Board board, DataOutput out) throws IOException {
+        List<Agent> agents = new ArrayList<>();
+        for (int i = 0; i < board.getNodeCount(); i++) {
+            Pawn pawn = board.getPawn(board.getNode(i));
+            if (pawn != null && !agents.contains(pawn.getOwner())) {
+                agents.add(pawn.getOwner());
+            }
+        }
+        agents.sort(Comparator.comparing(Agent::getId));
+
+        out.writeByte(board.getBoardType().ordinal());
+        out.writeByte(board.getSideToMove());
+        out.writeByte(agents.size());
+        for (Agent agent : agents) {
+            SerializableColor color = agent.getColor();
+            out.writeShort(agent.getId());
+            out.writeByte((agent.isPlayer() ? FLAG_PLAYER : 0)
+                    | (agent.getHasWon() ? FLAG_WON : 0)
+                    | (color != null ? FLAG_COLOR : 0));
+            out.writeByte(agent.getStartBaseIndex());
+            out.writeByte(agent.getFinishBaseIndex());
+            if (color != null) {
+                out.writeByte(color.red);
+                out.writeByte(color.green);
+                out.writeByte(color.blue);
+            }
+            out.writeByte(agent.getPawns().size());
+            for (Pawn pawn : agent.getPawns()) {
+                out.writeByte(pawn.getLocation().getIndex() | (pawn.isBaseLocked() ? LOCKED_BIT : 0));
+            }
+        }
+
+        List<Move> moves = board instanceof StandardBoard standard ? standard.getMoves() : List.of();
+        out.writeShort(moves.size());
+        for (Move move : moves) {
+            out.writeByte(move.getStart().getIndex());
+            out.writeByte(move.getEnd().getIndex());
+        }
+    }
+
+    /**
+     * Reads a board written by {@link #write(Board, DataOutput)}.
+     *
+     * @param in where to read from
+     * @return the board
+     */
+    public static Board read(DataInput in) throws IOException {
+        BoardType[] types = BoardType.values();
+        int type = in.readUnsignedByte();
+        if (type >= types.length) {
+            throw new StreamCorruptedException("Unknown board type " + type);
+        }
+        Board board = types[type].createBoard();
+        board.generateBoard();
+        board.defineBases();
+        board.defineNeighbours();
+
+        int sideToMove = in.readUnsignedByte();
+        int agentCount = in.readUnsignedByte();
+        for (int a = 0; a < agentCount; a++) {
+            int id = in.readUnsignedShort();
+            int flags = in.readUnsignedByte();
+            Agent agent = (flags & FLAG_PLAYER) != 0 ? new Player(null, id) : new Agent(id, false);
+            agent.assignBases(in.readByte(), in.readByte());
+            agent.setHasWon((flags & FLAG_WON) != 0);
+            agent.setColor((flags & FLAG_COLOR) != 0
+                    ? new SerializableColor(in.readUnsignedByte(), in.readUnsignedByte(), in.readUnsignedByte())
+                    : null);
+            int pawns = in.readUnsignedByte();
+            for (int p = 0; p < pawns; p++) {
+                int cell = in.readUnsignedByte();
+                Node node = node(board, cell & ~LOCKED_BIT);
+                board.addPawn(node, agent);
+                if ((cell & LOCKED_BIT) != 0) {
+                    board.getPawn(node).makeBaseLocked();
+                }
+            }
+        }
+        board.setSideToMove(sideToMove);
+
+        int moveCount = in.readUnsignedShort();
+        List<Move> moves = new ArrayList<>(moveCount);
+        for (int i = 0; i < moveCount; i++) {
+            moves.add(new Move(node(board, in.readUnsignedByte()), node(board, in.readUnsignedByte())));
+        }
+        if (board instanceof StandardBoard standard) {
+            standard.restoreMoves(moves);
+        }
+        return board;
+    }
+
+    private static Node node(Board board, int index) throws IOException {
+        if (index >= board.getNodeCount()) {
+            throw new StreamCorruptedException("Unknown node " + index);
+        }
+        return board.getNode(index);
+    }
+}
@@ -0,0 +1,193 @@
+package org.example.game_logic;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable, precomputed data describing the shape of a board.
+ * A geometry is built once from a generated board and shared by every board with the same layout,
+ * so that queries on the hot path are plain array lookups.
+ */
+public final class BoardGeometry {
+
+    /**
+     * The number of directions a pawn can step or hop in.
+     */
+    public static final int DIRECTIONS = 6;
+
+    // Coordinate offsets of the neighbour in each direction
+    private static final int[] DX = {2, -2, 1, -1, 1, -1};
+    private static final int[] DY = {0, 0, 1, 1, -1, -1};
+
+    /**
+     * The number of nodes on the board.
+     */
+    private final int size;
+
+    /**
+     * Index of the neighbouring node in each direction, or -1 if there is none.
+     */
+    private final int[][] neighbour;
+
+    /**
+     * Index of the node a hop in each direction lands on, or -1 if it would leave the board.
+     * The hopped-over node is the neighbour in the same direction.
+     */
+    private final int[][] landing;
+
+    /**
+     * Step distance between every pair of nodes, indexed by {@link Node#getIndex()}.
+     */
+    private final int[][] distance;
+
+    /**
+     * Index of the node with the smallest distance to the farthest node, i.e. the middle of the board.
+     */
+    private final int center;
+
+    /**
+     * Builds the geometry of a board.
+     * The board must already have its nodes generated.
+     *
+     * @param board the board to build the geometry from
+     */
+    public BoardGeometry(Board board) {
+        this.size = board.getNodeCount();
+        this.neighbour = new int[size][DIRECTIONS];
+        this.landing = new int[size][DIRECTIONS];
+        this.distance = new int[size][];
+
+        Map<Coordinate, Integer> indices = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            indices.put(board.getNode(i).getCoordinate(), i);
+        }
+        for (int i = 0; i < size; i++) {
+            Node node = board.getNode(i);
+            for (int d = 0; d < DIRECTIONS; d++) {
+                int x = node.getXCoordinate();
+                int y = node.getYCoordinate();
+                neighbour[i][d] = indices.getOrDefault(new Coordinate(x + DX[d], y + DY[d]), -1);
+                landing[i][d] = indices.getOrDefault(new Coordinate(x + 2 * DX[d], y + 2 * DY[d]), -1);
+            }
+        }
+
+        int[] queue = new int[size];
+        for (int start = 0; start < size; start++) {
+            int[] row = new int[size];
+            Arrays.fill(row, -1);
+            row[start] = 0;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            while (head < tail) {
+                int current = queue[head++];
+                for (int next : neighbour[current]) {
+                    if (next >= 0 && row[next] == -1) {
+                        row[next] = row[current] + 1;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            distance[start] = row;
+        }
+
+        int best = 0;
+        int bestEccentricity = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            int eccentricity = 0;
+            for (int j = 0; j < size; j++) {
+                eccentricity = Math.max(eccentricity, distance[i][j]);
+            }
+            if (eccentricity < bestEccentricity) {
+                bestEccentricity = eccentricity;
+                best = i;
+            }
+        }
+        this.center = best;
+    }
+
+    /**
+     * Returns the number of nodes on the board.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the node in the middle of the board.
+     *
+     * @return the index of the node with the smallest distance to the farthest node
+     */
+    public int center() {
+        return center;
+    }
+
+    /**
+     * Returns the neighbour of a node in the given direction.
+     *
+     * @param index the index of the node
+     * @param direction the direction, from 0 to {@link #DIRECTIONS} - 1
+     * @return the index of the neighbour, or -1 if there is none
+     */
+    public int neighbour(int index, int direction) {
+        return neighbour[index][direction];
+    }
+
+    /**
+     * Returns the node a hop from the given node in the given direction lands on.
+     *
+     * @param index the index of the node
+     * @param direction the direction, from 0 to {@link #DIRECTIONS} - 1
+     * @return the index of the landing node, or -1 if the hop would leave the board
+     */
+    public int landing(int index, int direction) {
+        return landing[index][direction];
+    }
+
+    /**
+     * Returns the direction of a step between two neighbouring nodes.
+     *
+     * @param from the index of the start node
+     * @param to the index of the end node
+     * @return the direction of the step, or -1 if the nodes are not neighbours
+     */
+    public int stepDirection(int from, int to) {
+        for (int d = 0; d < DIRECTIONS; d++) {
+            if (neighbour[from][d] == to) {
+                return d;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the direction of a single hop between two nodes.
+     * The hopped-over node is then {@code neighbour(from, direction)}.
+     *
+     * @param from the index of the start node
+     * @param to the index of the landing node
+     * @return the direction of the hop, or -1 if no single hop connects the nodes
+     */
+    public int hopDirection(int from, int to) {
+        for (int d = 0; d < DIRECTIONS; d++) {
+            if (landing[from][d] == to) {
+                return d;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of steps needed to get from one node to another.
+     *
+     * @param from the index of the start node
+     * @param to the index of the end node
+     * @return the step distance, or -1 if the end node cannot be reached
+     */
+    public int distance(int from, int to) {
+        return distance[from][to];
+    }
+}
@@ -11,7 +11,47 @@ public enum BoardType {
         public String toString() {
             return "Standard";
         }
+    },
+    BITBOARD{
+        @Override
+        public Board createBoard() {
+            return new BitBoard();
+        }
+
+        @Override
+        public BoardGeometry getGeometry() {
+            // Same star layout as the standard board
+            return STANDARD.getGeometry();
+        }
+
+        @Override
+        public String toString() {
+            return "Bitboard";
+        }
     };
 
+    // Geometry of the board layout, built on first use and shared by all boards of this type
+    private volatile BoardGeometry geometry;
+
     public abstract Board createBoard();
+
+    /**
+     * Returns the precomputed geometry of this board type, building it on first use.
+     *
+     * @return the shared {@link BoardGeometry}
+     */
+    public BoardGeometry getGeometry() {
+        BoardGeometry result = geometry;
+        if (result == null) {
+            synchronized (this) {
+                result = geometry;
+                if (result == null) {
+                    Board template = createBoard();
+                    template.generateBoard();
+                    geometry = result = new BoardGeometry(template);
+                }
+            }
+        }
+        return result;
+    }
 }
@@ -1,7 +1,5 @@
 package org.example.game_logic;
 
-import org.example.server.GameManager;
-
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -9,6 +7,7 @@ import java.util.List;
 public class Bot extends Agent {
     Node currentTarget;
     List<Node> reachedTargets = new ArrayList<>();
+    private final transient MoveGenerator moveGenerator = new MoveGenerator();
     public Bot(int id) {
         super(id, false);
     }
@@ -50,67 +49,11 @@ public class Bot extends Agent {
 
     public List<Move> getAllValidMoves(Board board) {
         List<Move> validMoves = new ArrayList<>();
-        for (Pawn pawn : this.getPawns()) {
-            System.out.println("|||||||||| Checking for pawn " + pawn.getLocation().printCoordinates() + "|||||||||||");
-            Node startPosition = pawn.getLocation();
-            // Get all direct neighbors of the pawn's current position
-            List<Node> neighbors = pawn.getLocation().getNeighbours();
-
-            // Check all direct moves
-            for (Node neighbor : neighbors) {
-                System.out.println("Checking step move to " + neighbor.printCoordinates());
-                if (!neighbor.getIsOccupied()) {
-                    if (!pawn.isBaseLocked() || neighbor.getBaseId() == this.getFinishBaseIndex()) {
-                        System.out.println("Valid step");
-                        validMoves.add(new Move(startPosition, neighbor));
-                    }
-                }
-            }
-
-            // Check all jump moves (recursive search for multi-jumps)
-            findJumpMoves(board, startPosition, new ArrayList<>(), validMoves, pawn);
-            if (!validMoves.isEmpty()) {
-                System.out.println("Valid moves");
-                for (Move move : validMoves) {
-                    System.out.println(move.toString());
-                }
-            } else
-                System.out.println("Pawn" + pawn.getLocation().printCoordinates() + " can't move anywhere!");
-        }
-        System.out.println("All valid moves found!");
+        moveGenerator.addMoves(board, this, validMoves);
+        System.out.println(validMoves.size() + " valid moves found!");
         return validMoves;
     }
 
-    private void findJumpMoves(Board board, Node currentPosition,
-                               List<Node> visited, List<Move> validMoves, Pawn pawn) {
-        // Mark the current position as visited to avoid cycles
-        visited.add(currentPosition);
-        System.out.println("Jumping from " + currentPosition.printCoordinates());
-        // Get all direct neighbors
-        List<Node> neighbors = currentPosition.getNeighbours();
-
-        for (Node neighbor : neighbors) {
-            if (!neighbor.getIsOccupied())
-                continue; // Can only jump over occupied nodes
-            Node jumpPosition = board.getNode(new Coordinate(currentPosition.getXCoordinate() + ((neighbor.getXCoordinate() - currentPosition.getXCoordinate() )*2),
-                    currentPosition.getYCoordinate() + ((neighbor.getYCoordinate() - currentPosition.getYCoordinate())*2)));
-            if (jumpPosition == null)
-                continue;
-            System.out.println("Testing jump move to " + jumpPosition.printCoordinates());
-            if (!jumpPosition.getIsOccupied() && !visited.contains(jumpPosition)) {
-                if (!pawn.isBaseLocked() || jumpPosition.getBaseId() == this.getFinishBaseIndex()) {
-                    System.out.println("Valid move");
-                    Move jumpMove = new Move(pawn.getLocation(), jumpPosition);
-                    validMoves.add(jumpMove);
-                    System.out.println("Checking recursively from " + jumpPosition.printCoordinates());
-                    // Recursively search for further jumps
-                    findJumpMoves(board, jumpPosition, new ArrayList<>(visited), validMoves, pawn);
-                    System.out.println("Finished checking recursively from " + jumpPosition.printCoordinates());
-                }
-            }
-        }
-    }
-
     public Move findBestMove(Board board) {
         List<Move> validMoves = getAllValidMoves(board);
         List<Move> filteredMoves = new ArrayList<>(validMoves);
@@ -165,7 +108,7 @@ public class Bot extends Agent {
                     System.out.println(move.toString() + " starts in base...");
                     if (move.getEnd().getBaseId() == this.getFinishBaseIndex()) {
                         System.out.println(move.toString() + " ends in base...");
-                        if (!move.getStart().getNeighbours().contains(move.getEnd())) {
+                        if (board.getGeometry().stepDirection(move.getStart().getIndex(), move.getEnd().getIndex()) < 0) {
                             System.out.println(move.toString() + "And is a jump.");
                             return move;
                         }
@@ -212,29 +155,26 @@ public class Bot extends Agent {
 
 
 
-    @Override
-    public void promptMove(Board board) {
-        try {
-            // Simulate thinking for 3 seconds
-            Thread.sleep(100);
-        } catch (InterruptedException e) {
-            System.out.println("Thread interrupted!");
-        }
+    /**
+     * Picks the move the bot wants to make this turn without touching the board.
+     *
+     * @param board the board the bot plays on
+     * @return the chosen move, or null if the bot has no target or cannot move
+     */
+    public Move chooseMove(Board board) {
         currentTarget = UpdateTarget(board);
-        if (currentTarget != null) {
-            System.out.println("Current target: " + currentTarget.printCoordinates());
-            Move bestMove = findBestMove(board);
-            if (bestMove != null) {
-                System.out.println("Chosen move: " + bestMove.toString());
-                GameManager.getInstance().makeMove(this, bestMove);
-            }
-            else {
-                System.out.println("Nowhere to move to!");
-            }
+        if (currentTarget == null) {
+            System.out.println("No target set!");
+            return null;
+        }
+        System.out.println("Current target: " + currentTarget.printCoordinates());
+        Move bestMove = findBestMove(board);
+        if (bestMove != null) {
+            System.out.println("Chosen move: " + bestMove.toString());
         }
         else {
-            System.out.println("No target set!");
+            System.out.println("Nowhere to move to!");
         }
-        GameManager.getInstance().endTurn(this);
+        return bestMove;
     }
 }
@@ -0,0 +1,39 @@
+package org.example.game_logic;
+
+public enum BotType {
+    HEURISTIC{
+        @Override
+        public Bot createBot(int id) {
+            return new Bot(id);
+        }
+
+        @Override
+        public String toString() {
+            return "Heuristic";
+        }
+    },
+    SEARCH{
+        @Override
+        public Bot createBot(int id) {
+            return new SearchBot(id);
+        }
+
+        @Override
+        public String toString() {
+            return "Search";
+        }
+    },
+    MCTS{
+        @Override
+        public Bot createBot(int id) {
+            return new MctsBot(id);
+        }
+
+        @Override
+        public String toString() {
+            return "MCTS";
+        }
+    };
+
+    public abstract Bot createBot(int id);
+}
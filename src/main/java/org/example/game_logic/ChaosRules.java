@@ -3,6 +3,8 @@ package org.example.game_logic;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Represents the standard rules for the game, implementing the {@link Rules} interface for {@link StandardBoard}.
@@ -15,6 +17,9 @@ public class ChaosRules implements Rules<StandardBoard> {
     // The number of pawns each player starts with
     private static final int PLAYER_PAWN_COUNT = 10;
 
+    // Seed of the random layout; the same seed, board and agents always give the same layout
+    private long layoutSeed = ThreadLocalRandom.current().nextLong();
+
     /**
      * Validates the number of players in the game.
      *
@@ -49,6 +54,7 @@ public class ChaosRules implements Rules<StandardBoard> {
 
     /**
      * Sets up the game board by placing the pawns randomly in the middle zone.
+     * The layout is drawn from the {@link #setLayoutSeed layout seed}, visiting nodes by index, so it can be set up again.
      *
      * @param board the {@link StandardBoard} to set up
      * @param agents the list of {@link Agent} objects representing the players
@@ -57,10 +63,12 @@ public class ChaosRules implements Rules<StandardBoard> {
     @Override
     public StandardBoard setupBoard(StandardBoard board, List<Agent> agents) {
         System.out.println("Setting up...");
+        SplittableRandom random = new SplittableRandom(layoutSeed);
         List<Node> eligibleNodes = new ArrayList<>();
 
         // Pre-filter eligible nodes
-        for (Node node : board.getNodes().values()) {
+        for (int i = 0; i < board.getNodeCount(); i++) {
+            Node node = board.getNode(i);
             if (node.getBaseId() == -1 && !node.getIsOccupied()) {
                 eligibleNodes.add(node);
             }
@@ -75,7 +83,7 @@ public class ChaosRules implements Rules<StandardBoard> {
 
             while (pawnsToSet > 0 && !eligibleNodes.isEmpty()) {
                 // Pick a random node from the list of eligible nodes
-                int randomIndex = (int) (Math.random() * eligibleNodes.size());
+                int randomIndex = random.nextInt(eligibleNodes.size());
                 Node selectedNode = eligibleNodes.get(randomIndex);
                 board.addPawn(selectedNode, agent);
                 pawnsToSet--;
@@ -90,6 +98,11 @@ public class ChaosRules implements Rules<StandardBoard> {
         return board;
     }
 
+    @Override
+    public void setLayoutSeed(long seed) {
+        layoutSeed = seed;
+    }
+
     @Override
     public RulesType getRulesType() {
         return RulesType.CHAOS;
@@ -126,13 +139,17 @@ public class ChaosRules implements Rules<StandardBoard> {
             return false;
         }
 
+        BoardGeometry geometry = board.getGeometry();
+        int start = startNode.getIndex();
+        int end = endNode.getIndex();
+
         // Step moves validation (neighboring nodes)
-        if (startNode.getNeighbours().contains(endNode)) {
+        if (geometry.stepDirection(start, end) >= 0) {
             if (owner.isStepLocked()) {
                 System.out.println("Step locked: move invalid");
                 return false;
             } else {
-                if (endNode.getIsOccupied()) {
+                if (board.isOccupied(end)) {
                     System.out.println("Can't move to an occupied node");
                     return false;
                 }
@@ -148,35 +165,20 @@ public class ChaosRules implements Rules<StandardBoard> {
             System.out.println("Player can't make a hop after taking a step!");
             return false;
         } else {
-            // Horizontal hop check
-            if (startNode.getYCoordinate() == endNode.getYCoordinate()) {
-                int midX = (startNode.getXCoordinate() + endNode.getXCoordinate()) / 2;
-                if (Math.abs(startNode.getXCoordinate() - endNode.getXCoordinate()) == 4 &&
-                        board.getNode(new Coordinate(midX, startNode.getYCoordinate())).getIsOccupied()) {
-                    System.out.println("Valid horizontal hop");
-                    owner.setCurrentPawn(startPawn);
-                    owner.stepLock();
-                    return true;
-                }
-                System.out.println("Invalid horizontal hop");
-                return false;
-            }
-
-            // Diagonal hop check
-            if (Math.abs(startNode.getYCoordinate() - endNode.getYCoordinate()) == 2) {
-                int midX = (startNode.getXCoordinate() + endNode.getXCoordinate()) / 2;
-                int midY = (startNode.getYCoordinate() + endNode.getYCoordinate()) / 2;
-                Node midNode = board.getNode(new Coordinate(midX, midY));
-                if (midNode == null) {
-                    System.out.println("Invalid diagonal hop, no pawn in-between");
+            int direction = geometry.hopDirection(start, end);
+            if (direction >= 0) {
+                if (!board.isOccupied(geometry.neighbour(start, direction))) {
+                    System.out.println("Invalid hop, no pawn in-between");
                     return false;
                 }
-                if (midNode.getIsOccupied()) {
-                    System.out.println("Valid diagonal hop");
-                    owner.setCurrentPawn(startPawn);
-                    owner.stepLock();
-                    return true;
+                if (board.isOccupied(end)) {
+                    System.out.println("Can't move to an occupied node");
+                    return false;
                 }
+                System.out.println("Valid hop");
+                owner.setCurrentPawn(startPawn);
+                owner.stepLock();
+                return true;
             }
         }
 
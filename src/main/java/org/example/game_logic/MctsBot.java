@@ -0,0 +1,374 @@
+package org.example.game_logic;
+
+import org.example.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A bot that picks its moves with Monte-Carlo Tree Search.
+ * The tree is grown with UCT, and every agent maximises its own reward (max-n).
+ * Progressive widening opens the children of a node in order of the distance their move gains,
+ * one more child each time the visit count crosses the widening threshold.
+ * Every leaf is evaluated by a batch of short rollouts run in parallel on the common fork-join pool,
+ * each on its own {@link Position#copy()} of the leaf.
+ * The search stops after a number of iterations or when the time budget runs out, whichever comes first.
+ */
+public class MctsBot extends Bot {
+
+    // Exploration constant of the UCT formula
+    private static final double EXPLORATION = 0.7;
+
+    // Progressive widening: a node with n visits may have 1 + WIDENING_FACTOR * n^WIDENING_EXPONENT children
+    private static final double WIDENING_FACTOR = 1.5;
+    private static final double WIDENING_EXPONENT = 0.5;
+
+    // A rollout plays this many rounds of turns before the position is scored
+    private static final int ROLLOUT_ROUNDS = 6;
+
+    // Probability that a rollout plays the move gaining the most distance instead of a random one
+    private static final double GREEDY_PROBABILITY = 0.8;
+
+    // Marks the child of a node whose agent cannot move and passes
+    private static final int PASS = -1;
+
+    private static final ThreadLocal<RolloutBuffers> ROLLOUT_BUFFERS = ThreadLocal.withInitial(RolloutBuffers::new);
+
+    private final int iterations;
+    private final long timeBudgetMillis;
+    private final transient RolloutBuffers treeBuffers = new RolloutBuffers();
+
+    /**
+     * Creates a bot using {@link Config#MCTS_ITERATIONS} iterations and {@link Config#BOT_TIME_BUDGET_MILLIS} per move.
+     *
+     * @param id the ID of the bot
+     */
+    public MctsBot(int id) {
+        this(id, Config.MCTS_ITERATIONS, Config.BOT_TIME_BUDGET_MILLIS);
+    }
+
+    /**
+     * Creates a bot with the given limits per move.
+     *
+     * @param id the ID of the bot
+     * @param iterations the maximum number of tree iterations, 0 for no limit
+     * @param timeBudgetMillis how long the bot may search for a single move, 0 for no limit
+     */
+    public MctsBot(int id, int iterations, long timeBudgetMillis) {
+        super(id);
+        if (iterations <= 0 && timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("MCTS bot needs an iteration or time limit!");
+        }
+        this.iterations = iterations;
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    /**
+     * Grows the search tree within the limits and returns the most visited move of the root.
+     *
+     * @param board the board to search on, left untouched
+     * @return the best move found, or null if the bot cannot move
+     */
+    @Override
+    public Move findBestMove(Board board) {
+        Position rootPosition = new Position(board);
+        int rootSeat = rootPosition.getSeat(this);
+        if (rootSeat < 0) {
+            return null;
+        }
+        rootPosition.setSideToMove(rootSeat);
+        boolean[] finishedAtRoot = finishedSeats(rootPosition);
+        TreeNode root = new TreeNode(PASS, -1);
+        expandCandidates(root, rootPosition);
+        if (root.candidates.length == 0) {
+            return null;
+        }
+
+        int batch = Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        int done = 0;
+        List<TreeNode> path = new ArrayList<>();
+        while ((iterations <= 0 || done < iterations) && (timeBudgetMillis <= 0 || System.nanoTime() < deadline)) {
+            Position position = rootPosition.copy();
+            path.clear();
+            select(root, position, path, finishedAtRoot);
+            boolean decided = isDecided(position, finishedAtRoot);
+            double[] reward = decided ? score(position) : rollouts(position, batch, finishedAtRoot);
+            int visits = decided ? 1 : batch;
+            for (TreeNode node : path) {
+                node.visits += visits;
+                if (node.mover >= 0) {
+                    node.reward += reward[node.mover];
+                }
+            }
+            done++;
+        }
+
+        if (root.children.isEmpty()) {
+            int move = root.candidates[0];
+            return new Move(board.getNode(move & 0x7F), board.getNode(move >>> 7));
+        }
+        TreeNode best = root.children.get(0);
+        for (TreeNode child : root.children) {
+            if (child.visits > best.visits) {
+                best = child;
+            }
+        }
+        System.out.println("MCTS finished after " + done + " iterations, " + root.visits + " rollouts");
+        return new Move(board.getNode(best.move & 0x7F), board.getNode(best.move >>> 7));
+    }
+
+    /**
+     * Walks down the tree from the root, applying the moves to the position, and expands one new child.
+     * Every node on the way, including the new one, is added to the path.
+     */
+    private void select(TreeNode root, Position position, List<TreeNode> path, boolean[] finishedAtRoot) {
+        TreeNode node = root;
+        path.add(node);
+        while (!isDecided(position, finishedAtRoot)) {
+            if (node.candidates == null) {
+                expandCandidates(node, position);
+            }
+            int seat = position.getSideToMove();
+            int allowed = (int) (1 + WIDENING_FACTOR * Math.pow(node.visits, WIDENING_EXPONENT));
+            if (node.children.size() < Math.min(allowed, Math.max(node.candidates.length, 1))) {
+                int move = node.candidates.length == 0 ? PASS : node.candidates[node.children.size()];
+                TreeNode child = new TreeNode(move, seat);
+                node.children.add(child);
+                play(position, move);
+                path.add(child);
+                return;
+            }
+            node = bestChild(node);
+            play(position, node.move);
+            path.add(node);
+        }
+    }
+
+    private static TreeNode bestChild(TreeNode node) {
+        double logVisits = Math.log(Math.max(node.visits, 1));
+        TreeNode best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (TreeNode child : node.children) {
+            double value = child.visits == 0
+                    ? Double.POSITIVE_INFINITY
+                    : child.reward / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Lists the moves of the agent to move at the node, best distance gain first.
+     */
+    private void expandCandidates(TreeNode node, Position position) {
+        int seat = position.getSideToMove();
+        int count = treeBuffers.generate(position, seat);
+        int[] candidates = Arrays.copyOf(treeBuffers.moves, count);
+        int[] gains = Arrays.copyOf(treeBuffers.gains, count);
+        // Insertion sort, descending by gain
+        for (int i = 1; i < count; i++) {
+            int move = candidates[i];
+            int gain = gains[i];
+            int j = i - 1;
+            while (j >= 0 && gains[j] < gain) {
+                candidates[j + 1] = candidates[j];
+                gains[j + 1] = gains[j];
+                j--;
+            }
+            candidates[j + 1] = move;
+            gains[j + 1] = gain;
+        }
+        node.candidates = candidates;
+    }
+
+    /**
+     * Plays a batch of rollouts from the position in parallel and sums their rewards.
+     */
+    private static double[] rollouts(Position position, int batch, boolean[] finishedAtRoot) {
+        List<Rollout> tasks = new ArrayList<>(batch);
+        for (int i = 0; i < batch; i++) {
+            tasks.add(new Rollout(position.copy(), finishedAtRoot));
+        }
+        double[] total = new double[position.getSeatCount()];
+        for (Rollout task : ForkJoinTask.invokeAll(tasks)) {
+            double[] reward = task.join();
+            for (int seat = 0; seat < total.length; seat++) {
+                total[seat] += reward[seat];
+            }
+        }
+        return total;
+    }
+
+    private static void play(Position position, int move) {
+        int seat = position.getSideToMove();
+        if (move != PASS) {
+            position.applyMove(move & 0x7F, move >>> 7);
+        }
+        position.setSideToMove(position.nextSeat(seat));
+    }
+
+    private static boolean[] finishedSeats(Position position) {
+        boolean[] finished = new boolean[position.getSeatCount()];
+        for (int seat = 0; seat < finished.length; seat++) {
+            finished[seat] = position.hasFinished(seat);
+        }
+        return finished;
+    }
+
+    /**
+     * A line is decided once a seat finishes in it; seats that had finished before the search do not count,
+     * as the game goes on without them.
+     */
+    private static boolean isDecided(Position position, boolean[] finishedAtRoot) {
+        for (int seat = 0; seat < position.getSeatCount(); seat++) {
+            if (!finishedAtRoot[seat] && position.hasFinished(seat)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rewards every agent with the share of opponents it is ahead of, between 0 and 1.
+     * An agent that has finished is ahead of every agent that has not; otherwise the smaller
+     * remaining distance is ahead, and a tie counts as half.
+     */
+    static double[] score(Position position) {
+        int seats = position.getSeatCount();
+        double[] reward = new double[seats];
+        if (seats == 1) {
+            reward[0] = position.hasFinished(0) ? 1 : 0.5;
+            return reward;
+        }
+        for (int seat = 0; seat < seats; seat++) {
+            double ahead = 0;
+            for (int other = 0; other < seats; other++) {
+                if (other == seat) {
+                    continue;
+                }
+                int compare = compare(position, seat, other);
+                ahead += compare > 0 ? 1 : compare == 0 ? 0.5 : 0;
+            }
+            reward[seat] = ahead / (seats - 1);
+        }
+        return reward;
+    }
+
+    private static int compare(Position position, int seat, int other) {
+        boolean finished = position.hasFinished(seat);
+        if (finished != position.hasFinished(other)) {
+            return finished ? 1 : -1;
+        }
+        return Integer.compare(position.getDistanceSum(other), position.getDistanceSum(seat));
+    }
+
+    /**
+     * A node of the search tree, reached by playing {@link #move} for {@link #mover}.
+     * The tree is only touched by the searching thread.
+     */
+    private static final class TreeNode {
+        final int move;
+        final int mover;
+        final List<TreeNode> children = new ArrayList<>();
+        int[] candidates;
+        int visits;
+        double reward;
+
+        TreeNode(int move, int mover) {
+            this.move = move;
+            this.mover = mover;
+        }
+    }
+
+    /**
+     * Plays a single semi-greedy game from its own copy of the leaf position and scores the outcome.
+     */
+    private static final class Rollout extends RecursiveTask<double[]> {
+        private final Position position;
+        private final boolean[] finishedAtRoot;
+
+        Rollout(Position position, boolean[] finishedAtRoot) {
+            this.position = position;
+            this.finishedAtRoot = finishedAtRoot;
+        }
+
+        @Override
+        protected double[] compute() {
+            RolloutBuffers buffers = ROLLOUT_BUFFERS.get();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int plies = ROLLOUT_ROUNDS * position.getSeatCount();
+            for (int ply = 0; ply < plies && !isDecided(position, finishedAtRoot); ply++) {
+                int seat = position.getSideToMove();
+                int count = buffers.generate(position, seat);
+                int move = PASS;
+                if (count > 0) {
+                    move = buffers.moves[random.nextInt(count)];
+                    if (random.nextDouble() < GREEDY_PROBABILITY) {
+                        int best = 0;
+                        for (int i = 1; i < count; i++) {
+                            if (buffers.gains[i] > buffers.gains[best]) {
+                                best = i;
+                            }
+                        }
+                        move = buffers.moves[best];
+                    }
+                }
+                play(position, move);
+            }
+            return score(position);
+        }
+    }
+
+    /**
+     * Move buffers and a move generator owned by a single thread.
+     */
+    private static final class RolloutBuffers {
+        final MoveGenerator generator = new MoveGenerator();
+        int[] moves = new int[256];
+        int[] gains = new int[256];
+
+        /**
+         * Fills the buffers with the moves of the seat, packed as start | end << 7, and the distance each gains.
+         *
+         * @return the number of moves
+         */
+        int generate(Position position, int seat) {
+            BoardGeometry geometry = position.getGeometry();
+            int goal = position.getGoal(seat);
+            int count = 0;
+            for (int p = 0; p < position.getPawnCount(seat); p++) {
+                int start = position.getPawnCell(seat, p);
+                int destinations = generator.generate(geometry, position, start,
+                        position.getFinishBase(seat), position.isLocked(start));
+                if (count + destinations > moves.length) {
+                    moves = Arrays.copyOf(moves, (count + destinations) * 2);
+                    gains = Arrays.copyOf(gains, (count + destinations) * 2);
+                }
+                for (int i = 0; i < destinations; i++) {
+                    int end = generator.getDestination(i);
+                    moves[count] = start | end << 7;
+                    gains[count] = geometry.distance(start, goal) - geometry.distance(end, goal);
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
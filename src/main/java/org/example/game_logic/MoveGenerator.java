@@ -0,0 +1,157 @@
+package org.example.game_logic;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Generates the destinations a pawn can reach in a single turn.
+ * Steps go to empty neighbours, hops are chained with an iterative flood fill over the
+ * precomputed landing table of the {@link BoardGeometry}, so every destination is reported exactly once.
+ * The generator reuses its internal buffers between calls and is therefore not thread-safe;
+ * every searching agent should own its own instance.
+ */
+public final class MoveGenerator {
+
+    /**
+     * Stamp of the last generation that reached each node; a node is visited if its stamp equals {@link #stamp}.
+     */
+    private int[] visited = new int[0];
+    private int stamp = 0;
+
+    // Work stack of the hop flood fill
+    private int[] stack = new int[0];
+
+    // Destinations found by the last generation
+    private int[] destinations = new int[0];
+    private int destinationCount = 0;
+
+    /**
+     * Computes every node the pawn can move to, following the same restrictions as the bots:
+     * a base-locked pawn may only move within its finish base.
+     * The results are available through {@link #getDestination(int)} until the next call.
+     *
+     * @param board the board the pawn is on
+     * @param pawn the pawn to generate moves for
+     * @return the number of unique destinations
+     */
+    public int generate(Board board, Pawn pawn) {
+        return generate(board.getGeometry(), board, pawn.getLocation().getIndex(),
+                pawn.getOwner().getFinishBaseIndex(), pawn.isBaseLocked());
+    }
+
+    /**
+     * Computes every node a pawn standing on the given node can move to.
+     * The results are available through {@link #getDestination(int)} until the next call.
+     *
+     * @param geometry the geometry of the board
+     * @param cells the occupancy of the board
+     * @param origin the index of the node the pawn stands on
+     * @param finishBase the finish base of the pawn's owner
+     * @param baseLocked whether the pawn may only move within its finish base
+     * @return the number of unique destinations
+     */
+    public int generate(BoardGeometry geometry, Occupancy cells, int origin, int finishBase, boolean baseLocked) {
+        ensureCapacity(geometry.size());
+        nextStamp();
+        destinationCount = 0;
+
+        // Hops: flood fill over landings behind occupied neighbours
+        visited[origin] = stamp;
+        int top = 0;
+        stack[top++] = origin;
+        while (top > 0) {
+            int current = stack[--top];
+            for (int d = 0; d < BoardGeometry.DIRECTIONS; d++) {
+                int over = geometry.neighbour(current, d);
+                if (over < 0 || !cells.isOccupied(over)) {
+                    continue; // Can only hop over occupied nodes
+                }
+                int landing = geometry.landing(current, d);
+                if (landing < 0 || visited[landing] == stamp || cells.isOccupied(landing)) {
+                    continue;
+                }
+                if (baseLocked && cells.getBaseId(landing) != finishBase) {
+                    continue;
+                }
+                visited[landing] = stamp;
+                destinations[destinationCount++] = landing;
+                stack[top++] = landing;
+            }
+        }
+
+        // Steps: empty neighbours not already reached by hopping
+        for (int d = 0; d < BoardGeometry.DIRECTIONS; d++) {
+            int step = geometry.neighbour(origin, d);
+            if (step < 0 || visited[step] == stamp || cells.isOccupied(step)) {
+                continue;
+            }
+            if (baseLocked && cells.getBaseId(step) != finishBase) {
+                continue;
+            }
+            visited[step] = stamp;
+            destinations[destinationCount++] = step;
+        }
+
+        return destinationCount;
+    }
+
+    /**
+     * Returns a destination found by the last call to {@link #generate(Board, Pawn)}.
+     *
+     * @param i the position of the destination, from 0 to the count returned by generate - 1
+     * @return the index of the destination node
+     */
+    public int getDestination(int i) {
+        return destinations[i];
+    }
+
+    /**
+     * Checks whether the pawn can reach the given node in a single turn.
+     *
+     * @param board the board the pawn is on
+     * @param pawn the pawn to check
+     * @param end the node the pawn should end up on
+     * @return true if the node is one of the pawn's destinations, false otherwise
+     */
+    public boolean canReach(Board board, Pawn pawn, Node end) {
+        int count = generate(board, pawn);
+        for (int i = 0; i < count; i++) {
+            if (destinations[i] == end.getIndex()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Generates the moves of every pawn of the agent and appends them to the given list.
+     *
+     * @param board the board the agent plays on
+     * @param agent the agent to generate moves for
+     * @param moves the list the moves are appended to
+     */
+    public void addMoves(Board board, Agent agent, List<Move> moves) {
+        for (Pawn pawn : agent.getPawns()) {
+            int count = generate(board, pawn);
+            for (int i = 0; i < count; i++) {
+                moves.add(new Move(pawn.getLocation(), board.getNode(destinations[i])));
+            }
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (visited.length < size) {
+            visited = new int[size];
+            stack = new int[size];
+            destinations = new int[size];
+            stamp = 0;
+        }
+    }
+
+    private void nextStamp() {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            stamp = 1;
+        }
+    }
+}
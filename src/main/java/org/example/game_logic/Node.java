@@ -36,6 +36,11 @@ public class Node implements Serializable, Cloneable {
      */
     private int baseId = -1;
 
+    /**
+     * Dense index of this node on its board (0..n-1), or -1 if the node was not created by a board.
+     */
+    private int index = -1;
+
     /**
      * Creates a node with specified coordinates.
      * @param xCoordinate the x-coordinate of the node.
@@ -146,6 +151,22 @@ public class Node implements Serializable, Cloneable {
         return baseId;
     }
 
+    /**
+     * Retrieves the dense index of the node on its board.
+     * @return the index, or -1 if the node was not created by a board.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Assigns the dense index of the node. Called by the board when the node is added.
+     * @param index the index of the node on its board.
+     */
+    void setIndex(int index) {
+        this.index = index;
+    }
+
     public Coordinate getCoordinate() {
         return coordinate;
     }
@@ -0,0 +1,25 @@
+package org.example.game_logic;
+
+/**
+ * Read-only view of which nodes are occupied and which base they belong to, addressed by node index.
+ * Implemented by {@link Board} and by the lightweight {@link Position} used for searching,
+ * so the {@link MoveGenerator} can work on either.
+ */
+public interface Occupancy {
+
+    /**
+     * Checks whether the node with the given index is occupied by a pawn.
+     *
+     * @param index the index of the node
+     * @return true if the node is occupied, false otherwise
+     */
+    boolean isOccupied(int index);
+
+    /**
+     * Retrieves the base ID of the node with the given index.
+     *
+     * @param index the index of the node
+     * @return the base ID, or -1 if the node does not belong to any base
+     */
+    int getBaseId(int index);
+}
@@ -0,0 +1,341 @@
+package org.example.game_logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A lightweight, copyable snapshot of the pawn placement on a {@link Board}, used by the bots to search.
+ * Agents are numbered by seat in the order of their IDs, which is also the turn order.
+ * Pawns are kept as plain arrays indexed by node, so copying a position or applying and undoing a move
+ * costs a few array writes and never touches the nodes and pawns of the real board.
+ */
+public final class Position implements Occupancy {
+
+    private static final int EMPTY = -1;
+
+    // Layout of the undo tokens, same as the tokens of Board.applyMove
+    private static final int UNDO_INDEX_MASK = 0x7F;
+    private static final int UNDO_LOCKED = 1 << 14;
+
+    // Immutable data shared between copies
+    private final BoardGeometry geometry;
+    private final int[] baseOf;
+    private final Agent[] agents;
+    private final int[] finishBase;
+    private final int[] goal;
+
+    // Mutable state, copied by copy()
+    private final byte[] owner;
+    private final boolean[] locked;
+    private final int[][] pawnCells;
+    private final int[] distanceSum;
+    private final int[] lockedCount;
+    private int sideToMove;
+    private long hash;
+
+    /**
+     * Takes a snapshot of the board.
+     * Every agent owning at least one pawn gets a seat; the side to move is taken from {@link Board#getSideToMove()}.
+     *
+     * @param board the board to take the snapshot of
+     */
+    public Position(Board board) {
+        this.geometry = board.getGeometry();
+        int size = geometry.size();
+        this.baseOf = new int[size];
+        this.owner = new byte[size];
+        this.locked = new boolean[size];
+
+        List<Agent> seated = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            baseOf[i] = board.getBaseId(i);
+            Pawn pawn = board.getPawn(board.getNode(i));
+            if (pawn != null && !seated.contains(pawn.getOwner())) {
+                seated.add(pawn.getOwner());
+            }
+        }
+        seated.sort(Comparator.comparing(Agent::getId));
+        this.agents = seated.toArray(new Agent[0]);
+
+        int seats = agents.length;
+        this.finishBase = new int[seats];
+        this.goal = new int[seats];
+        this.pawnCells = new int[seats][];
+        this.distanceSum = new int[seats];
+        this.lockedCount = new int[seats];
+        int[] pawnCount = new int[seats];
+        for (int seat = 0; seat < seats; seat++) {
+            finishBase[seat] = agents[seat].getFinishBaseIndex();
+            goal[seat] = findGoal(finishBase[seat]);
+            pawnCells[seat] = new int[agents[seat].getPawns().size()];
+        }
+
+        for (int i = 0; i < size; i++) {
+            owner[i] = EMPTY;
+            Pawn pawn = board.getPawn(board.getNode(i));
+            if (pawn == null) {
+                continue;
+            }
+            int seat = seated.indexOf(pawn.getOwner());
+            owner[i] = (byte) seat;
+            locked[i] = pawn.isBaseLocked();
+            if (pawnCount[seat] == pawnCells[seat].length) {
+                pawnCells[seat] = Arrays.copyOf(pawnCells[seat], pawnCount[seat] + 1);
+            }
+            pawnCells[seat][pawnCount[seat]++] = i;
+            distanceSum[seat] += geometry.distance(i, goal[seat]);
+            if (locked[i]) {
+                lockedCount[seat]++;
+            }
+            hash ^= ZobristKeys.pawn(i, agents[seat].getId());
+        }
+        for (int seat = 0; seat < seats; seat++) {
+            pawnCells[seat] = Arrays.copyOf(pawnCells[seat], pawnCount[seat]);
+        }
+
+        this.sideToMove = 0;
+        for (int seat = 0; seat < seats; seat++) {
+            if (agents[seat].getId() == board.getSideToMove()) {
+                this.sideToMove = seat;
+            }
+        }
+        if (seats > 0) {
+            hash ^= ZobristKeys.side(agents[sideToMove].getId());
+        }
+    }
+
+    private Position(Position other) {
+        this.geometry = other.geometry;
+        this.baseOf = other.baseOf;
+        this.agents = other.agents;
+        this.finishBase = other.finishBase;
+        this.goal = other.goal;
+        this.owner = other.owner.clone();
+        this.locked = other.locked.clone();
+        this.pawnCells = new int[other.pawnCells.length][];
+        for (int seat = 0; seat < pawnCells.length; seat++) {
+            pawnCells[seat] = other.pawnCells[seat].clone();
+        }
+        this.distanceSum = other.distanceSum.clone();
+        this.lockedCount = other.lockedCount.clone();
+        this.sideToMove = other.sideToMove;
+        this.hash = other.hash;
+    }
+
+    /**
+     * Finds the node of the base farthest from the middle of the board, the natural target for the pawns.
+     */
+    private int findGoal(int base) {
+        int best = geometry.center();
+        int bestDistance = -1;
+        for (int i = 0; i < baseOf.length; i++) {
+            if (baseOf[i] == base && geometry.distance(geometry.center(), i) > bestDistance) {
+                bestDistance = geometry.distance(geometry.center(), i);
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Creates an independent copy of the position.
+     *
+     * @return the copy
+     */
+    public Position copy() {
+        return new Position(this);
+    }
+
+    @Override
+    public boolean isOccupied(int index) {
+        return owner[index] != EMPTY;
+    }
+
+    @Override
+    public int getBaseId(int index) {
+        return baseOf[index];
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    public int getSeatCount() {
+        return agents.length;
+    }
+
+    public Agent getAgent(int seat) {
+        return agents[seat];
+    }
+
+    /**
+     * Returns the seat of the agent.
+     *
+     * @param agent the agent to look up
+     * @return the seat of the agent, or -1 if it has no pawns on the board
+     */
+    public int getSeat(Agent agent) {
+        for (int seat = 0; seat < agents.length; seat++) {
+            if (agents[seat] == agent) {
+                return seat;
+            }
+        }
+        return -1;
+    }
+
+    public int getFinishBase(int seat) {
+        return finishBase[seat];
+    }
+
+    /**
+     * Returns the node the pawns of the seat are heading to: the tip of its finish base.
+     *
+     * @param seat the seat
+     * @return the index of the goal node
+     */
+    public int getGoal(int seat) {
+        return goal[seat];
+    }
+
+    public int getPawnCount(int seat) {
+        return pawnCells[seat].length;
+    }
+
+    public int getPawnCell(int seat, int pawn) {
+        return pawnCells[seat][pawn];
+    }
+
+    /**
+     * Returns the seat owning the pawn on the given node.
+     *
+     * @param index the index of the node
+     * @return the seat, or -1 if the node is empty
+     */
+    public int getOwner(int index) {
+        return owner[index];
+    }
+
+    public boolean isLocked(int index) {
+        return locked[index];
+    }
+
+    /**
+     * Returns the sum of the distances of the seat's pawns to its goal node, maintained incrementally.
+     *
+     * @param seat the seat
+     * @return the summed distance
+     */
+    public int getDistanceSum(int seat) {
+        return distanceSum[seat];
+    }
+
+    /**
+     * Checks whether all pawns of the seat are locked in its finish base.
+     *
+     * @param seat the seat
+     * @return true if the seat has finished, false otherwise
+     */
+    public boolean hasFinished(int seat) {
+        return lockedCount[seat] == pawnCells[seat].length;
+    }
+
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Sets the seat whose turn it is, updating the hash.
+     *
+     * @param seat the seat to move
+     */
+    public void setSideToMove(int seat) {
+        hash ^= ZobristKeys.side(agents[sideToMove].getId()) ^ ZobristKeys.side(agents[seat].getId());
+        sideToMove = seat;
+    }
+
+    /**
+     * Returns the seat that moves after the given one, skipping seats that have finished.
+     *
+     * @param seat the seat that has just moved
+     * @return the next seat, or the given seat if every other seat has finished
+     */
+    public int nextSeat(int seat) {
+        int next = seat;
+        do {
+            next = (next + 1) % agents.length;
+        } while (next != seat && hasFinished(next));
+        return next;
+    }
+
+    /**
+     * Returns the Zobrist hash of the position, compatible with {@link Board#positionHash()}.
+     *
+     * @return the hash
+     */
+    public long hash() {
+        return hash;
+    }
+
+    /**
+     * Moves the pawn on one node to another.
+     *
+     * @param start the index of the node the pawn is on
+     * @param end the index of the node the pawn is moved to
+     * @return the undo token of the move, to be passed to {@link #undoMove(int)}
+     */
+    public int applyMove(int start, int end) {
+        int seat = owner[start];
+        boolean wasLocked = locked[start];
+        boolean nowLocked = wasLocked || baseOf[end] == finishBase[seat];
+        int[] cells = pawnCells[seat];
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == start) {
+                cells[i] = end;
+                break;
+            }
+        }
+        owner[start] = EMPTY;
+        owner[end] = (byte) seat;
+        locked[start] = false;
+        locked[end] = nowLocked;
+        if (nowLocked && !wasLocked) {
+            lockedCount[seat]++;
+        }
+        distanceSum[seat] += geometry.distance(end, goal[seat]) - geometry.distance(start, goal[seat]);
+        int agentId = agents[seat].getId();
+        hash ^= ZobristKeys.pawn(start, agentId) ^ ZobristKeys.pawn(end, agentId);
+        return start | end << 7 | (wasLocked ? UNDO_LOCKED : 0);
+    }
+
+    /**
+     * Reverts a move made with {@link #applyMove(int, int)}.
+     * Moves must be undone in the reverse order they were applied.
+     *
+     * @param token the undo token returned by applyMove
+     */
+    public void undoMove(int token) {
+        int start = token & UNDO_INDEX_MASK;
+        int end = (token >>> 7) & UNDO_INDEX_MASK;
+        boolean wasLocked = (token & UNDO_LOCKED) != 0;
+        int seat = owner[end];
+        int[] cells = pawnCells[seat];
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == end) {
+                cells[i] = start;
+                break;
+            }
+        }
+        if (locked[end] && !wasLocked) {
+            lockedCount[seat]--;
+        }
+        owner[end] = EMPTY;
+        owner[start] = (byte) seat;
+        locked[end] = false;
+        locked[start] = wasLocked;
+        distanceSum[seat] += geometry.distance(start, goal[seat]) - geometry.distance(end, goal[seat]);
+        int agentId = agents[seat].getId();
+        hash ^= ZobristKeys.pawn(start, agentId) ^ ZobristKeys.pawn(end, agentId);
+    }
+}
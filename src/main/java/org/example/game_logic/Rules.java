@@ -60,5 +60,14 @@ public interface Rules<T extends Board> {
      */
     T setupBoard(T board, List<Agent> agents);
 
+    /**
+     * Sets the seed {@link #setupBoard} draws a random layout from, so a saved game can be set up exactly as it started.
+     * Rules with a fixed layout ignore it.
+     *
+     * @param seed the seed
+     */
+    default void setLayoutSeed(long seed) {
+    }
+
     RulesType getRulesType();
 }
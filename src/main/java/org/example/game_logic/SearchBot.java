@@ -0,0 +1,321 @@
+package org.example.game_logic;
+
+import org.example.Config;
+
+import java.util.Arrays;
+
+/**
+ * A bot that looks ahead with an iterative-deepening paranoid alpha-beta search.
+ * The bot assumes every other agent plays against it, which turns the multi-player game into a
+ * two-sided one; positions are scored by how much closer the opponents are to their goals than the bot is.
+ * The search runs on a {@link Position} snapshot and stops when its time budget runs out,
+ * answering with the best move of the deepest completed iteration.
+ * Results are cached in a {@link TranspositionTable}, by default the one shared by all bots.
+ */
+public class SearchBot extends Bot {
+
+    // Score of a position where an agent has moved all its pawns into its finish base
+    private static final int WIN_SCORE = 1_000_000;
+
+    // The search never goes deeper than this many plies
+    private static final int MAX_DEPTH = 64;
+
+    // How many nodes are searched between two checks of the clock
+    private static final int CLOCK_CHECK_INTERVAL = 1024;
+
+    private final long timeBudgetMillis;
+    private final transient TranspositionTable table;
+    private final transient MoveGenerator searchGenerator = new MoveGenerator();
+
+    // Per-ply move buffers, moves packed as start | end << 7
+    private transient int[][] moves = new int[MAX_DEPTH + 1][];
+    private transient int[][] gains = new int[MAX_DEPTH + 1][];
+
+    private transient int rootSeat;
+    // Seats that had finished before the search; the game goes on without them, so they decide nothing
+    private transient boolean[] finishedAtRoot = new boolean[0];
+    private transient long rootSalt;
+    private transient int searchAge;
+    private transient long deadline;
+    private transient long nodes;
+    private transient boolean aborted;
+
+    /**
+     * Creates a bot searching for {@link Config#BOT_TIME_BUDGET_MILLIS} per move.
+     *
+     * @param id the ID of the bot
+     */
+    public SearchBot(int id) {
+        this(id, Config.BOT_TIME_BUDGET_MILLIS);
+    }
+
+    /**
+     * Creates a bot with the given time budget per move.
+     *
+     * @param id the ID of the bot
+     * @param timeBudgetMillis how long the bot may search for a single move
+     */
+    public SearchBot(int id, long timeBudgetMillis) {
+        this(id, timeBudgetMillis, TranspositionTable.shared());
+    }
+
+    /**
+     * Creates a bot with the given time budget per move, caching its results in the given table.
+     *
+     * @param id the ID of the bot
+     * @param timeBudgetMillis how long the bot may search for a single move
+     * @param table the transposition table to use
+     */
+    public SearchBot(int id, long timeBudgetMillis, TranspositionTable table) {
+        super(id);
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.table = table;
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    /**
+     * Searches for the best move within the time budget.
+     *
+     * @param board the board to search on, left untouched
+     * @return the best move found, or null if the bot cannot move
+     */
+    @Override
+    public Move findBestMove(Board board) {
+        Position position = new Position(board);
+        rootSeat = position.getSeat(this);
+        if (rootSeat < 0) {
+            return null;
+        }
+        position.setSideToMove(rootSeat);
+        finishedAtRoot = new boolean[position.getSeatCount()];
+        for (int seat = 0; seat < finishedAtRoot.length; seat++) {
+            finishedAtRoot[seat] = position.hasFinished(seat);
+        }
+        // Scores depend on whose point of view they are from, so entries are keyed by the searching agent too
+        rootSalt = (getId() + 1L) * 0x9E3779B97F4A7C15L;
+        searchAge = table.newSearch();
+        deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        nodes = 0;
+        aborted = false;
+
+        int count = generateMoves(position, rootSeat, 0);
+        if (count == 0) {
+            return null;
+        }
+        int bestMove = moves[0][0];
+        int completedDepth = 0;
+        for (int depth = 1; depth <= MAX_DEPTH && count > 1; depth++) {
+            int move = searchRoot(position, depth, count);
+            if (aborted) {
+                break;
+            }
+            bestMove = move;
+            completedDepth = depth;
+            // Search the best move first in the next iteration
+            promote(moves[0], gains[0], count, bestMove);
+        }
+        System.out.println("Search finished at depth " + completedDepth + " after " + nodes + " nodes");
+        return new Move(board.getNode(bestMove & 0x7F), board.getNode(bestMove >>> 7));
+    }
+
+    private int searchRoot(Position position, int depth, int count) {
+        int alpha = -Integer.MAX_VALUE;
+        int best = moves[0][0];
+        int next = position.nextSeat(rootSeat);
+        for (int i = 0; i < count; i++) {
+            int move = moves[0][i];
+            int token = position.applyMove(move & 0x7F, move >>> 7);
+            position.setSideToMove(next);
+            int score = search(position, depth - 1, 1, alpha, Integer.MAX_VALUE);
+            position.setSideToMove(rootSeat);
+            position.undoMove(token);
+            if (aborted) {
+                return best;
+            }
+            if (score > alpha) {
+                alpha = score;
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    private int search(Position position, int depth, int ply, int alpha, int beta) {
+        if (++nodes % CLOCK_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        if (depth == 0 || ply >= MAX_DEPTH || isDecided(position)) {
+            return evaluate(position);
+        }
+
+        long key = position.hash() ^ rootSalt;
+        long entry = table.probe(key);
+        int hashMove = 0;
+        if (entry != TranspositionTable.MISS) {
+            hashMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = TranspositionTable.score(entry);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || bound == TranspositionTable.LOWER_BOUND && score >= beta
+                        || bound == TranspositionTable.UPPER_BOUND && score <= alpha) {
+                    return score;
+                }
+            }
+        }
+
+        int seat = position.getSideToMove();
+        int next = position.nextSeat(seat);
+        boolean maximizing = seat == rootSeat;
+        int count = generateMoves(position, seat, ply);
+        if (hashMove != 0) {
+            promote(moves[ply], gains[ply], count, hashMove);
+        }
+        if (count == 0) {
+            // A blocked agent passes its turn
+            position.setSideToMove(next);
+            int score = search(position, depth - 1, ply + 1, alpha, beta);
+            position.setSideToMove(seat);
+            return score;
+        }
+
+        int[] plyMoves = moves[ply];
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int best = maximizing ? -Integer.MAX_VALUE : Integer.MAX_VALUE;
+        int bestMove = 0;
+        for (int i = 0; i < count; i++) {
+            int move = plyMoves[i];
+            int token = position.applyMove(move & 0x7F, move >>> 7);
+            position.setSideToMove(next);
+            int score = search(position, depth - 1, ply + 1, alpha, beta);
+            position.setSideToMove(seat);
+            position.undoMove(token);
+            if (aborted) {
+                return 0;
+            }
+            if (maximizing ? score > best : score < best) {
+                best = score;
+                bestMove = move;
+            }
+            if (maximizing) {
+                alpha = Math.max(alpha, score);
+            } else {
+                beta = Math.min(beta, score);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                : best >= originalBeta ? TranspositionTable.LOWER_BOUND
+                : TranspositionTable.EXACT;
+        table.store(searchAge, key, depth, best, bound, bestMove);
+        return best;
+    }
+
+    private boolean isDecided(Position position) {
+        for (int seat = 0; seat < position.getSeatCount(); seat++) {
+            if (position.hasFinished(seat) && !hadFinished(seat)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Scores the position from the point of view of the searching bot.
+     * Each opponent's remaining distance counts against the bot's own, scaled so the sides weigh the same.
+     * Only an opponent finishing during the search is a loss; one that had finished before it is out of the game.
+     */
+    int evaluate(Position position) {
+        int opponents = position.getSeatCount() - 1;
+        if (position.hasFinished(rootSeat)) {
+            return WIN_SCORE;
+        }
+        int score = -position.getDistanceSum(rootSeat) * Math.max(opponents, 1);
+        for (int seat = 0; seat < position.getSeatCount(); seat++) {
+            if (seat == rootSeat) {
+                continue;
+            }
+            if (position.hasFinished(seat) && !hadFinished(seat)) {
+                return -WIN_SCORE;
+            }
+            score += position.getDistanceSum(seat);
+        }
+        return score;
+    }
+
+    private boolean hadFinished(int seat) {
+        return seat < finishedAtRoot.length && finishedAtRoot[seat];
+    }
+
+    /**
+     * Fills the move buffer of the given ply with the moves of the seat, ordered by the distance they gain.
+     *
+     * @return the number of moves
+     */
+    private int generateMoves(Position position, int seat, int ply) {
+        BoardGeometry geometry = position.getGeometry();
+        int goal = position.getGoal(seat);
+        int finishBase = position.getFinishBase(seat);
+        int count = 0;
+        for (int p = 0; p < position.getPawnCount(seat); p++) {
+            int start = position.getPawnCell(seat, p);
+            int destinations = searchGenerator.generate(geometry, position, start, finishBase, position.isLocked(start));
+            ensureCapacity(ply, count + destinations);
+            for (int i = 0; i < destinations; i++) {
+                int end = searchGenerator.getDestination(i);
+                moves[ply][count] = start | end << 7;
+                gains[ply][count] = geometry.distance(start, goal) - geometry.distance(end, goal);
+                count++;
+            }
+        }
+        sortByGain(moves[ply], gains[ply], count);
+        return count;
+    }
+
+    private void ensureCapacity(int ply, int size) {
+        if (moves[ply] == null || moves[ply].length < size) {
+            int capacity = Math.max(size * 2, 64);
+            moves[ply] = moves[ply] == null ? new int[capacity] : Arrays.copyOf(moves[ply], capacity);
+            gains[ply] = gains[ply] == null ? new int[capacity] : Arrays.copyOf(gains[ply], capacity);
+        }
+    }
+
+    // Insertion sort, descending by gain; the buffers are short and mostly sorted already
+    private static void sortByGain(int[] moves, int[] gains, int count) {
+        for (int i = 1; i < count; i++) {
+            int move = moves[i];
+            int gain = gains[i];
+            int j = i - 1;
+            while (j >= 0 && gains[j] < gain) {
+                moves[j + 1] = moves[j];
+                gains[j + 1] = gains[j];
+                j--;
+            }
+            moves[j + 1] = move;
+            gains[j + 1] = gain;
+        }
+    }
+
+    // Moves the given move to the front of the buffer, keeping the order of the rest
+    private static void promote(int[] moves, int[] gains, int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                int gain = gains[i];
+                System.arraycopy(moves, 0, moves, 1, i);
+                System.arraycopy(gains, 0, gains, 1, i);
+                moves[0] = move;
+                gains[0] = gain;
+                return;
+            }
+        }
+    }
+}
@@ -2,8 +2,10 @@ package org.example.game_logic;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 
 /**
@@ -11,7 +13,7 @@ import java.util.Queue;
  * This class extends the abstract {@link Board} and provides specific functionality for a predefined board setup.
  * It supports serialization and cloning.
  */
-public final class StandardBoard extends Board implements Serializable, Cloneable {
+public class StandardBoard extends Board implements Serializable, Cloneable {
 
     private static final long serialVersionUID = 1L; // Recommended for Serializable classes
 
@@ -25,6 +27,7 @@ public final class StandardBoard extends Board implements Serializable, Cloneabl
     @Override
     public void generateBoard() {
         moves.clear();
+        resetPositionHash();
         this.addNode(new Coordinate(12, 0));
         this.addNode(new Coordinate(11, 1)); this.addNode(new Coordinate(13, 1));
         for (int i = 10; i<=14; i+=2)
@@ -138,24 +141,40 @@ public final class StandardBoard extends Board implements Serializable, Cloneabl
     }
 
     /**
-     * Defines neighbors for each node on the board based on predefined offsets.
-     * Neighbors are calculated relative to each node's position.
+     * Defines neighbors for each node on the board using the precomputed geometry.
+     * Neighbours are added in the order of the geometry's directions.
      */
     @Override
     public void defineNeighbours() {
-        for (Node node : getNodes().values()) {
-            int x = node.getXCoordinate();
-            int y = node.getYCoordinate();
-            node.addNeighbour(getNode(new Coordinate(x + 2, y)));
-            node.addNeighbour(getNode(new Coordinate(x - 2, y)));
-            node.addNeighbour(getNode(new Coordinate(x + 1, y + 1)));
-            node.addNeighbour(getNode(new Coordinate(x - 1, y + 1)));
-            node.addNeighbour(getNode(new Coordinate(x + 1, y - 1)));
-            node.addNeighbour(getNode(new Coordinate(x - 1, y - 1)));
+        BoardGeometry geometry = getGeometry();
+        for (int i = 0; i < getNodeCount(); i++) {
+            Node node = getNode(i);
+            for (int d = 0; d < BoardGeometry.DIRECTIONS; d++) {
+                int neighbour = geometry.neighbour(i, d);
+                if (neighbour >= 0) {
+                    node.addNeighbour(getNode(neighbour));
+                }
+            }
         }
     }
+
+    /**
+     * Calculates the number of steps between two nodes using the precomputed distance table.
+     * Nodes that were not created by a board fall back to a breadth-first search.
+     *
+     * @param start the start node
+     * @param end the end node
+     * @return the step distance between the nodes, or -1 if the end node cannot be reached
+     */
     @Override
     public int calculateDistance(Node start, Node end) {
+        if (start.getIndex() >= 0 && end.getIndex() >= 0) {
+            return getGeometry().distance(start.getIndex(), end.getIndex());
+        }
+        return searchDistance(start, end);
+    }
+
+    private int searchDistance(Node start, Node end) {
         int distance = 0;
 
         if (start.equals(end)) {
@@ -213,6 +232,26 @@ public final class StandardBoard extends Board implements Serializable, Cloneabl
         System.out.println("Move " + lastMove);
     }
 
+    /**
+     * Returns the moves made on the board, oldest first.
+     *
+     * @return an unmodifiable view of the move history
+     */
+    public List<Move> getMoves() {
+        return Collections.unmodifiableList(moves);
+    }
+
+    /**
+     * Replaces the move history, for a board whose pawns were placed directly rather than moved.
+     *
+     * @param history the moves made on the board, oldest first
+     */
+    void restoreMoves(List<Move> history) {
+        moves = new ArrayList<>(history);
+        Move last = history.isEmpty() ? null : history.get(history.size() - 1);
+        lastMove = last == null ? null : last.getStart() + " -> " + last.getEnd();
+    }
+
     /**
      * Displays the current state of the board, including the last move and all past moves.
      * Mainly used for debugging or visualization purposes.
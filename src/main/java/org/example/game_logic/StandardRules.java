@@ -99,13 +99,17 @@ public class StandardRules implements Rules<StandardBoard> {
             return false;
         }
 
+        BoardGeometry geometry = board.getGeometry();
+        int start = startNode.getIndex();
+        int end = endNode.getIndex();
+
         // Step moves validation (neighboring nodes)
-        if (startNode.getNeighbours().contains(endNode)) {
+        if (geometry.stepDirection(start, end) >= 0) {
             if (owner.isStepLocked()) {
                 System.out.println("Step locked: move invalid");
                 return false;
             } else {
-                if (endNode.getIsOccupied()) {
+                if (board.isOccupied(end)) {
                     System.out.println("Can't move to an occupied node");
                     return false;
                 }
@@ -121,35 +125,20 @@ public class StandardRules implements Rules<StandardBoard> {
             System.out.println("Player can't make a hop after taking a step!");
             return false;
         } else {
-            // Horizontal hop check
-            if (startNode.getYCoordinate() == endNode.getYCoordinate()) {
-                int midX = (startNode.getXCoordinate() + endNode.getXCoordinate()) / 2;
-                if (Math.abs(startNode.getXCoordinate() - endNode.getXCoordinate()) == 4 &&
-                        board.getNode(new Coordinate(midX, startNode.getYCoordinate())).getIsOccupied()) {
-                    System.out.println("Valid horizontal hop");
-                    owner.setCurrentPawn(startPawn);
-                    owner.stepLock();
-                    return true;
-                }
-                System.out.println("Invalid horizontal hop");
-                return false;
-            }
-
-            // Diagonal hop check
-            if (Math.abs(startNode.getYCoordinate() - endNode.getYCoordinate()) == 2) {
-                int midX = (startNode.getXCoordinate() + endNode.getXCoordinate()) / 2;
-                int midY = (startNode.getYCoordinate() + endNode.getYCoordinate()) / 2;
-                Node midNode = board.getNode(new Coordinate(midX, midY));
-                if (midNode == null) {
-                    System.out.println("Invalid diagonal hop, no pawn in-between");
+            int direction = geometry.hopDirection(start, end);
+            if (direction >= 0) {
+                if (!board.isOccupied(geometry.neighbour(start, direction))) {
+                    System.out.println("Invalid hop, no pawn in-between");
                     return false;
                 }
-                if (midNode.getIsOccupied()) {
-                    System.out.println("Valid diagonal hop");
-                    owner.setCurrentPawn(startPawn);
-                    owner.stepLock();
-                    return true;
+                if (board.isOccupied(end)) {
+                    System.out.println("Can't move to an occupied node");
+                    return false;
                 }
+                System.out.println("Valid hop");
+                owner.setCurrentPawn(startPawn);
+                owner.stepLock();
+                return true;
             }
         }
 
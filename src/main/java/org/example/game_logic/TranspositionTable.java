@@ -0,0 +1,209 @@
+package org.example.game_logic;
+
+import org.example.Config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size table of search results keyed by the 64-bit hash of a position.
+ * Each entry packs the depth, score, bound type, best move and age of a result into a single {@code long}
+ * stored next to its key, in buckets of two entries.
+ * The table takes no locks: the key is stored XORed with the data, so an entry torn by two searches
+ * writing at once no longer matches its hash and is simply ignored.
+ * A single table can therefore be shared by every bot searching in the process.
+ * Each search stamps its entries with the age it got from {@link #newSearch()}, so searches running
+ * at the same time do not age each other's entries.
+ */
+public final class TranspositionTable {
+
+    /**
+     * The score is the exact value of the position.
+     */
+    public static final int EXACT = 1;
+
+    /**
+     * The search failed high, the value of the position is at least the score.
+     */
+    public static final int LOWER_BOUND = 2;
+
+    /**
+     * The search failed low, the value of the position is at most the score.
+     */
+    public static final int UPPER_BOUND = 3;
+
+    /**
+     * Returned by {@link #probe(long)} when the position is not in the table. Never a valid entry,
+     * since every stored entry has a bound type.
+     */
+    public static final long MISS = 0L;
+
+    // Two longs per entry: the key XOR the data, and the data
+    private static final int BYTES_PER_ENTRY = 16;
+    private static final int BUCKET_SIZE = 2;
+
+    // Layout of the data word
+    private static final int MOVE_BITS = 14;
+    private static final int BOUND_SHIFT = 14;
+    private static final int DEPTH_SHIFT = 16;
+    private static final int AGE_SHIFT = 24;
+    private static final int SCORE_SHIFT = 32;
+
+    private static volatile TranspositionTable shared;
+
+    private final AtomicLongArray entries;
+    private final int bucketMask;
+    private final AtomicInteger age = new AtomicInteger();
+
+    /**
+     * Creates a table using at most the given amount of memory.
+     *
+     * @param megabytes the memory cap of the table, at least 1
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Transposition table needs at least 1 MB!");
+        }
+        long maxEntries = (long) megabytes * 1024 * 1024 / BYTES_PER_ENTRY;
+        int buckets = Integer.highestOneBit((int) Math.min(maxEntries / BUCKET_SIZE, 1 << 28));
+        this.entries = new AtomicLongArray(buckets * BUCKET_SIZE * 2);
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * Returns the table shared by all bots of the process, sized by {@link Config#TRANSPOSITION_TABLE_MEGABYTES}.
+     *
+     * @return the shared table
+     */
+    public static TranspositionTable shared() {
+        TranspositionTable result = shared;
+        if (result == null) {
+            synchronized (TranspositionTable.class) {
+                result = shared;
+                if (result == null) {
+                    shared = result = new TranspositionTable(Config.TRANSPOSITION_TABLE_MEGABYTES);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of entries the table can hold.
+     *
+     * @return the capacity of the table
+     */
+    public int capacity() {
+        return entries.length() / 2;
+    }
+
+    /**
+     * Marks the start of a new search. Entries of older searches are replaced first.
+     *
+     * @return the age of the new search, to store its results with
+     */
+    public int newSearch() {
+        return age.incrementAndGet() & 0xFF;
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param hash the hash of the position
+     * @return the packed entry, to be read with the static accessors, or {@link #MISS}
+     */
+    public long probe(long hash) {
+        int bucket = bucketOf(hash);
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            int slot = (bucket + i) * 2;
+            long data = entries.get(slot + 1);
+            if ((entries.get(slot) ^ data) == hash && data != MISS) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the result of searching a position.
+     * An entry of the same position is overwritten; otherwise the entry of the bucket from the oldest search,
+     * or with the shallowest depth, is replaced.
+     *
+     * @param searchAge the age {@link #newSearch()} returned to the search storing the result
+     * @param hash the hash of the position
+     * @param depth the remaining depth the position was searched to, from 0 to 255
+     * @param score the score of the position
+     * @param bound the bound type, {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     * @param move the best move packed as start | end << 7, or 0 if there is none
+     */
+    public void store(int searchAge, long hash, int depth, int score, int bound, int move) {
+        int bucket = bucketOf(hash);
+        int currentAge = searchAge & 0xFF;
+        int victim = -1;
+        int victimValue = Integer.MAX_VALUE;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            int slot = (bucket + i) * 2;
+            long data = entries.get(slot + 1);
+            if ((entries.get(slot) ^ data) == hash) {
+                // Keep a deeper result of the same search unless this one is exact
+                if (age(data) == currentAge && depth(data) > depth && bound != EXACT) {
+                    return;
+                }
+                victim = slot;
+                break;
+            }
+            // Entries of older searches count as shallower the older they are; those of a search
+            // that started later, while this one runs, count as current
+            int staleness = (currentAge - age(data)) & 0xFF;
+            if (staleness >= 0x80) {
+                staleness = 0;
+            }
+            int value = data == MISS ? Integer.MIN_VALUE : depth(data) - 8 * staleness;
+            if (value < victimValue) {
+                victimValue = value;
+                victim = slot;
+            }
+        }
+        long data = (move & ((1L << MOVE_BITS) - 1))
+                | (long) bound << BOUND_SHIFT
+                | (long) Math.min(Math.max(depth, 0), 0xFF) << DEPTH_SHIFT
+                | (long) currentAge << AGE_SHIFT
+                | (long) score << SCORE_SHIFT;
+        entries.set(victim + 1, data);
+        entries.set(victim, hash ^ data);
+    }
+
+    /**
+     * Empties the table.
+     */
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, 0L);
+        }
+    }
+
+    public static int move(long entry) {
+        return (int) (entry & ((1L << MOVE_BITS) - 1));
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int score(long entry) {
+        return (int) (entry >> SCORE_SHIFT);
+    }
+
+    private static int age(long entry) {
+        return (int) (entry >>> AGE_SHIFT) & 0xFF;
+    }
+
+    private int bucketOf(long hash) {
+        // The low bits pick the bucket, mixed with the high bits in case the hash is not uniform
+        return (int) ((hash ^ (hash >>> 32)) & bucketMask) * BUCKET_SIZE;
+    }
+}
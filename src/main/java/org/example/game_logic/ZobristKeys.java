@@ -0,0 +1,54 @@
+package org.example.game_logic;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random keys used to compute 64-bit Zobrist hashes of board positions.
+ * The keys come from a fixed seed, so the same position hashes to the same value in every process
+ * and hashes can be stored and compared across server restarts.
+ */
+final class ZobristKeys {
+
+    // Upper bounds of the keyed values; agent IDs are taken modulo MAX_AGENTS
+    static final int MAX_CELLS = 128;
+    static final int MAX_AGENTS = 6;
+
+    private static final long SEED = 0x43484B52L;
+
+    private static final long[] PAWN_KEYS = new long[MAX_CELLS * MAX_AGENTS];
+    private static final long[] SIDE_KEYS = new long[MAX_AGENTS];
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < PAWN_KEYS.length; i++) {
+            PAWN_KEYS[i] = random.nextLong();
+        }
+        // Side 0 has no key, so a fresh board with no pawns hashes to 0
+        for (int i = 1; i < SIDE_KEYS.length; i++) {
+            SIDE_KEYS[i] = random.nextLong();
+        }
+    }
+
+    private ZobristKeys() {}
+
+    /**
+     * Returns the key of a pawn of the given agent standing on the given cell.
+     *
+     * @param cell the index of the node
+     * @param agentId the ID of the agent owning the pawn
+     * @return the key to XOR into the hash
+     */
+    static long pawn(int cell, int agentId) {
+        return PAWN_KEYS[cell * MAX_AGENTS + Math.floorMod(agentId, MAX_AGENTS)];
+    }
+
+    /**
+     * Returns the key of the given side to move.
+     *
+     * @param side the index of the agent whose turn it is
+     * @return the key to XOR into the hash
+     */
+    static long side(int side) {
+        return SIDE_KEYS[Math.floorMod(side, MAX_AGENTS)];
+    }
+}
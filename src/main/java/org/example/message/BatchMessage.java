@@ -0,0 +1,29 @@
+package org.example.message;
+
+import java.util.List;
+
+/**
+ * Several messages sent to a client in one frame, so they take one write and one flush.
+ * The server gathers everything a room sends to a client while it handles one command into a batch;
+ * clients unpack it and handle its messages in order. Batches are never nested.
+ */
+public final class BatchMessage extends Message {
+    private final List<Message> messages;
+
+    /**
+     * @param messages the messages of the batch, in the order they were sent; none of them a batch
+     */
+    public BatchMessage(final List<Message> messages) {
+        super(MessageType.BATCH);
+        this.messages = List.copyOf(messages);
+    }
+
+    public List<Message> getMessages() {
+        return messages;
+    }
+
+    @Override
+    public String toString() {
+        return "Batch of " + messages.size() + ": " + messages;
+    }
+}
@@ -0,0 +1,303 @@
+package org.example.message;
+
+import org.example.GameState;
+import org.example.game_logic.BoardCodec;
+import org.example.game_logic.BoardType;
+import org.example.game_logic.BotType;
+import org.example.game_logic.Coordinate;
+import org.example.game_logic.RulesType;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written binary encoding of every message.
+ * A payload starts with the ordinal of the {@link MessageType} as its tag, followed by the fields of the message:
+ * counts and lengths as unsigned varints, strings as UTF-8, enums as their ordinal and coordinates as single bytes.
+ * Nullable values are written with their count or ordinal shifted up by one, 0 standing for null.
+ * The tag never equals the first byte of a Java serialization stream, which is how the two are told apart.
+ */
+final class BinaryCodec {
+
+    /**
+     * Version of the encoding, agreed on with {@link CodecMessage}. Raise it whenever a message or enum changes.
+     */
+    static final int VERSION = 3;
+
+    private BinaryCodec() {}
+
+    static void write(final Message message, final DataOutput out) throws IOException
+    {
+        out.writeByte(message.getType().ordinal());
+        switch (message.getType()) {
+            case STRING -> writeString(out, ((StringMessage) message).getMessage());
+            case DISCONNECT, END_TURN, PROMPT_MOVE -> {
+            }
+            case MOVE -> {
+                MoveMessage move = (MoveMessage) message;
+                writeCoordinate(out, move.getStart());
+                writeCoordinate(out, move.getEnd());
+            }
+            case COMMAND -> {
+                CommandMessage command = (CommandMessage) message;
+                writeEnum(out, command.getCommand());
+                writeStrings(out, command.getMessage());
+            }
+            case GAMESTATE -> {
+                GameStateMessage state = (GameStateMessage) message;
+                GameState gameState = state.getGameState();
+                writeStrings(out, state.getPlayers());
+                writeVarint(out, state.getTurn());
+                writeVarlong(out, gameState.getSequence());
+                out.writeBoolean(gameState.isRunning());
+                out.writeBoolean(gameState.getBoard() != null);
+                if (gameState.getBoard() != null) {
+                    BoardCodec.write(gameState.getBoard(), out);
+                }
+            }
+            case USERNAME -> {
+                UsernameMessage username = (UsernameMessage) message;
+                writeString(out, username.getUsername());
+                writeString(out, username.getRoomId());
+            }
+            case USERLIST -> writeStrings(out, ((UserlistMessage) message).getMessage());
+            case RULES_TYPE -> writeEnum(out, ((RulesTypeMessage) message).getRulesetType());
+            case BOARD_TYPE -> writeEnum(out, ((BoardTypeMessage) message).getBoardType());
+            case LOAD_GAME -> writeString(out, ((GameToBeLoadedMessage) message).getGameName());
+            case GAMENAME -> writeString(out, ((GameNameMessage) message).getGameName());
+            case BOTS_COUNT -> {
+                BotsCountMessage bots = (BotsCountMessage) message;
+                writeVarint(out, bots.getBotsCount());
+                writeVarint(out, bots.getBotTypes().size());
+                for (BotType botType : bots.getBotTypes()) {
+                    writeEnum(out, botType);
+                }
+            }
+            case CODEC -> writeVarint(out, ((CodecMessage) message).getBinaryVersion());
+            case GAMESTATE_DELTA -> {
+                GameStateDeltaMessage delta = (GameStateDeltaMessage) message;
+                writeVarlong(out, delta.getSequence());
+                writeVarint(out, delta.getTurn());
+                writeVarint(out, delta.getCells().length);
+                for (int cell : delta.getCells()) {
+                    // The node and its lock in one byte, then the owner shifted up so an empty node is 0
+                    out.writeByte(cell);
+                    writeVarint(out, GameStateDeltaMessage.cellOwner(cell) + 1);
+                }
+            }
+            case BATCH -> {
+                List<Message> messages = ((BatchMessage) message).getMessages();
+                writeVarint(out, messages.size());
+                for (Message batched : messages) {
+                    write(batched, out);
+                }
+            }
+        }
+    }
+
+    static Message read(final byte[] payload, final int offset, final int length) throws IOException
+    {
+        return read(new DataInputStream(new ByteArrayInputStream(payload, offset, length)), true);
+    }
+
+    private static Message read(final DataInputStream in, final boolean batchAllowed) throws IOException
+    {
+        int tag = in.readUnsignedByte();
+        if (tag >= MessageType.values().length) {
+            throw new StreamCorruptedException("Unknown message type " + tag);
+        }
+        return switch (MessageType.values()[tag]) {
+            case STRING -> new StringMessage(readString(in));
+            case DISCONNECT -> new DisconnectMessage();
+            case END_TURN -> new EndTurnMessage();
+            case PROMPT_MOVE -> new PromptMoveMessage();
+            case MOVE -> new MoveMessage(readCoordinate(in), readCoordinate(in));
+            case COMMAND -> new CommandMessage(readEnum(in, Commands.values()), readStrings(in));
+            case GAMESTATE -> {
+                String[] players = readStrings(in);
+                int turn = readVarint(in);
+                long sequence = readVarlong(in);
+                boolean running = in.readBoolean();
+                GameState gameState = new GameState(in.readBoolean() ? BoardCodec.read(in) : null, running);
+                gameState.setSequence(sequence);
+                yield new GameStateMessage(gameState, players, turn);
+            }
+            case USERNAME -> new UsernameMessage(readString(in), readString(in));
+            case USERLIST -> new UserlistMessage(readStrings(in));
+            case RULES_TYPE -> new RulesTypeMessage(readEnum(in, RulesType.values()));
+            case BOARD_TYPE -> new BoardTypeMessage(readEnum(in, BoardType.values()));
+            case LOAD_GAME -> new GameToBeLoadedMessage(readString(in));
+            case GAMENAME -> new GameNameMessage(readString(in));
+            case BOTS_COUNT -> {
+                int botsCount = readVarint(in);
+                int types = readVarint(in);
+                List<BotType> botTypes = new ArrayList<>(checkCount(in, types));
+                for (int i = 0; i < types; i++) {
+                    botTypes.add(readEnum(in, BotType.values()));
+                }
+                yield new BotsCountMessage(botsCount, botTypes);
+            }
+            case CODEC -> new CodecMessage(readVarint(in));
+            case GAMESTATE_DELTA -> {
+                long sequence = readVarlong(in);
+                int turn = readVarint(in);
+                int[] cells = new int[checkCount(in, readVarint(in))];
+                for (int i = 0; i < cells.length; i++) {
+                    int node = in.readUnsignedByte();
+                    int owner = readVarint(in) - 1;
+                    cells[i] = GameStateDeltaMessage.cell(node & 0x7F, owner, (node & 0x80) != 0);
+                }
+                yield new GameStateDeltaMessage(sequence, turn, cells);
+            }
+            case BATCH -> {
+                if (!batchAllowed) {
+                    throw new StreamCorruptedException("Nested batch");
+                }
+                int count = checkCount(in, readVarint(in));
+                List<Message> messages = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    messages.add(read(in, false));
+                }
+                yield new BatchMessage(messages);
+            }
+        };
+    }
+
+    static void writeVarint(final DataOutput out, int value) throws IOException
+    {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarint(final DataInput in) throws IOException
+    {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Varint too long");
+    }
+
+    static void writeVarlong(final DataOutput out, long value) throws IOException
+    {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarlong(final DataInput in) throws IOException
+    {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Varint too long");
+    }
+
+    private static void writeString(final DataOutput out, final String value) throws IOException
+    {
+        if (value == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private static String readString(final DataInput in) throws IOException
+    {
+        int length = readVarint(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[checkCount(in, length)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeStrings(final DataOutput out, final String[] values) throws IOException
+    {
+        if (values == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        writeVarint(out, values.length + 1);
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static String[] readStrings(final DataInput in) throws IOException
+    {
+        int count = readVarint(in) - 1;
+        if (count < 0) {
+            return null;
+        }
+        String[] values = new String[checkCount(in, count)];
+        for (int i = 0; i < count; i++) {
+            values[i] = readString(in);
+        }
+        return values;
+    }
+
+    private static void writeEnum(final DataOutput out, final Enum<?> value) throws IOException
+    {
+        writeVarint(out, value == null ? 0 : value.ordinal() + 1);
+    }
+
+    private static <E extends Enum<E>> E readEnum(final DataInput in, final E[] values) throws IOException
+    {
+        int ordinal = readVarint(in) - 1;
+        if (ordinal < -1 || ordinal >= values.length) {
+            throw new StreamCorruptedException("Unknown constant " + ordinal + " of " + values.getClass().getComponentType().getSimpleName());
+        }
+        return ordinal < 0 ? null : values[ordinal];
+    }
+
+    /**
+     * Every element takes at least one byte, so a count larger than what is left of the payload is corrupt,
+     * as is a negative one; checked before allocating for it.
+     */
+    private static int checkCount(final DataInput in, final int count) throws IOException
+    {
+        if (count < 0 || count > ((DataInputStream) in).available()) {
+            throw new StreamCorruptedException("Count " + count + " exceeds the payload");
+        }
+        return count;
+    }
+
+    private static void writeCoordinate(final DataOutput out, final Coordinate coordinate) throws IOException
+    {
+        if (coordinate.getX() < 0 || coordinate.getX() > 0xFF || coordinate.getY() < 0 || coordinate.getY() > 0xFF) {
+            throw new StreamCorruptedException("Coordinate out of range: " + coordinate);
+        }
+        out.writeByte(coordinate.getX());
+        out.writeByte(coordinate.getY());
+    }
+
+    private static Coordinate readCoordinate(final DataInput in) throws IOException
+    {
+        return new Coordinate(in.readUnsignedByte(), in.readUnsignedByte());
+    }
+}
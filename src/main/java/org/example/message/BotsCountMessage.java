@@ -1,20 +1,39 @@
 package org.example.message;
 
+import org.example.game_logic.BotType;
+
+import java.util.ArrayList;
+import java.util.List;
+
 public class BotsCountMessage extends Message{
 
     private final int botsCount;
+    private final List<BotType> botTypes;
 
     public BotsCountMessage(int botsCount) {
+        this(botsCount, List.of());
+    }
+
+    /**
+     * @param botsCount the number of bots
+     * @param botTypes the kind of bot in each bot seat; seats left out get the default bot
+     */
+    public BotsCountMessage(int botsCount, List<BotType> botTypes) {
         super(MessageType.BOTS_COUNT);
         this.botsCount = botsCount;
+        this.botTypes = new ArrayList<>(botTypes);
     }
 
     public int getBotsCount() {
         return botsCount;
     }
 
+    public List<BotType> getBotTypes() {
+        return botTypes;
+    }
+
     @Override
     public String toString() {
-        return Integer.toString(botsCount);
+        return botsCount + " " + botTypes;
     }
 }
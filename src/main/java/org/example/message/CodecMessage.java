@@ -0,0 +1,28 @@
+package org.example.message;
+
+/**
+ * Negotiates the wire codec right after connecting.
+ * The client offers the version of the binary codec it speaks; the server answers with the version it
+ * will send from then on, or 0 to keep sending Java serialization. Clients that never send it are
+ * only ever sent Java serialization.
+ */
+public final class CodecMessage extends Message {
+    private final int binaryVersion;
+
+    /**
+     * @param binaryVersion the version of the binary codec offered or accepted, 0 for none
+     */
+    public CodecMessage(final int binaryVersion) {
+        super(MessageType.CODEC);
+        this.binaryVersion = binaryVersion;
+    }
+
+    public int getBinaryVersion() {
+        return binaryVersion;
+    }
+
+    @Override
+    public String toString() {
+        return "binary codec v" + binaryVersion;
+    }
+}
@@ -2,7 +2,8 @@ package org.example.message;
 
 public enum Commands {
     SET_PLAYER_COUNT(2),
-    START_GAME(1);
+    START_GAME(1),
+    SYNC_STATE(1);
 
     private final int expectedParts;
 
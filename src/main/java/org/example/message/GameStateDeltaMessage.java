@@ -0,0 +1,138 @@
+package org.example.message;
+
+import org.example.GameState;
+import org.example.game_logic.Board;
+import org.example.game_logic.Move;
+import org.example.game_logic.Node;
+import org.example.game_logic.Pawn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A change of the game state: the cells whose content changed, whose turn it is and the sequence number
+ * the state has after the change. It is only meaningful on top of the state with the previous sequence number;
+ * a client that missed a change asks for a full {@link GameStateMessage} with {@link Commands#SYNC_STATE}.
+ */
+public final class GameStateDeltaMessage extends Message {
+
+    private static final int INDEX_MASK = 0x7F;
+    private static final int LOCKED_BIT = 1 << 7;
+    private static final int OWNER_SHIFT = 8;
+
+    private final long sequence;
+    private final int turn;
+    // Packed with cell(), one per changed node
+    private final int[] cells;
+
+    /**
+     * @param sequence the sequence number of the state after the change
+     * @param turn the index of the agent whose turn it is
+     * @param cells the changed cells, packed with {@link #cell(int, int, boolean)}
+     */
+    public GameStateDeltaMessage(final long sequence, final int turn, final int[] cells) {
+        super(MessageType.GAMESTATE_DELTA);
+        this.sequence = sequence;
+        this.turn = turn;
+        this.cells = cells;
+    }
+
+    /**
+     * Packs the new content of a node.
+     *
+     * @param index the index of the node
+     * @param ownerId the ID of the agent owning the pawn on the node, or -1 if the node is now empty
+     * @param locked whether the pawn is locked in its finish base
+     * @return the packed cell
+     */
+    public static int cell(final int index, final int ownerId, final boolean locked) {
+        return index | (locked ? LOCKED_BIT : 0) | (ownerId + 1) << OWNER_SHIFT;
+    }
+
+    public static int cellIndex(final int cell) {
+        return cell & INDEX_MASK;
+    }
+
+    public static int cellOwner(final int cell) {
+        return (cell >>> OWNER_SHIFT) - 1;
+    }
+
+    public static boolean cellLocked(final int cell) {
+        return (cell & LOCKED_BIT) != 0;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public int[] getCells() {
+        return cells;
+    }
+
+    /**
+     * Applies the change to a local copy of the game state.
+     * Every pawn that arrives on a node is taken from a node its owner left, and moved there on the board.
+     *
+     * @param state the state to change
+     * @return true if the change was applied, false if it does not follow on the state, which then needs a resync
+     */
+    public boolean applyTo(final GameState state) {
+        Board board = state.getBoard();
+        if (board == null || sequence != state.getSequence() + 1) {
+            return false;
+        }
+        List<Node> vacated = new ArrayList<>();
+        for (int cell : cells) {
+            Node node = board.getNode(cellIndex(cell));
+            if (cellOwner(cell) < 0 && board.getPawn(node) != null) {
+                vacated.add(node);
+            }
+        }
+        for (int cell : cells) {
+            int owner = cellOwner(cell);
+            Node node = board.getNode(cellIndex(cell));
+            if (owner < 0) {
+                continue;
+            }
+            Pawn pawn = board.getPawn(node);
+            if (pawn == null) {
+                Node from = null;
+                for (Node candidate : vacated) {
+                    if (board.getPawn(candidate).getOwner().getId() == owner) {
+                        from = candidate;
+                        break;
+                    }
+                }
+                if (from == null) {
+                    return false;
+                }
+                vacated.remove(from);
+                board.move(new Move(from, node));
+                pawn = board.getPawn(node);
+            } else if (pawn.getOwner().getId() != owner) {
+                return false;
+            }
+            if (cellLocked(cell)) {
+                pawn.makeBaseLocked();
+            } else {
+                pawn.makeNotBaseLocked();
+            }
+        }
+        if (!vacated.isEmpty()) {
+            return false;
+        }
+        board.setSideToMove(turn);
+        state.setSequence(sequence);
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " turn " + turn + " cells " + Arrays.toString(cells);
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.message;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts durations in buckets of powers of two nanoseconds, so recording is two atomic increments
+ * and percentiles come out within a factor of two. Safe to record from any number of threads.
+ */
+public final class LatencyHistogram {
+
+    // Bucket i counts durations below 2^i nanoseconds that did not fit in bucket i - 1; the last one takes the rest
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * @param nanos the duration to record
+     */
+    public void record(final long nanos) {
+        int bucket = nanos <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+        buckets.incrementAndGet(bucket);
+        totalNanos.add(Math.max(0, nanos));
+    }
+
+    /**
+     * @return how many durations were recorded
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @return the mean of the recorded durations in nanoseconds, 0 if none were recorded
+     */
+    public long getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : totalNanos.sum() / count;
+    }
+
+    /**
+     * @param percentile the share of durations to cover, between 0 and 100
+     * @return a duration in nanoseconds no shorter than that share of the recorded ones, at most twice too long;
+     *         0 if none were recorded
+     */
+    public long getPercentileNanos(final double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank && seen > 0) {
+                return 1L << i;
+            }
+        }
+        return 1L << (BUCKETS - 1);
+    }
+
+    @Override
+    public String toString() {
+        return getCount() + " recorded, mean " + getMeanNanos() + " ns, p50 < " + getPercentileNanos(50)
+                + " ns, p99 < " + getPercentileNanos(99) + " ns";
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.message;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+
+/**
+ * How the payload of a frame is encoded. A peer always sends with the codec agreed on with {@link CodecMessage},
+ * but reads whatever it receives: the first byte of a payload tells the codecs apart.
+ */
+public enum MessageCodec {
+    /**
+     * Java serialization of the message object, spoken by every client.
+     */
+    SERIALIZATION {
+        @Override
+        public void write(final Message message, final DataOutputStream out) throws IOException {
+            ObjectOutputStream oos = new ObjectOutputStream(out);
+            oos.writeObject(message);
+            oos.flush();
+        }
+    },
+    /**
+     * The compact {@link BinaryCodec}, used once both sides have agreed on it.
+     */
+    BINARY {
+        @Override
+        public void write(final Message message, final DataOutputStream out) throws IOException {
+            BinaryCodec.write(message, out);
+        }
+    };
+
+    /**
+     * Version of the binary codec this build speaks, offered and accepted in a {@link CodecMessage}.
+     */
+    public static final int BINARY_VERSION = BinaryCodec.VERSION;
+
+    // First byte of every Java serialization stream (STREAM_MAGIC is 0xACED)
+    private static final byte SERIALIZATION_MAGIC = (byte) 0xAC;
+
+    /**
+     * Writes the payload of a message.
+     *
+     * @param message the message to write
+     * @param out where to write it
+     */
+    public abstract void write(Message message, DataOutputStream out) throws IOException;
+
+    /**
+     * Decodes a payload written by either codec.
+     *
+     * @param payload the buffer holding the payload
+     * @param offset where the payload starts
+     * @param length the length of the payload
+     * @return the message
+     */
+    public static Message read(final byte[] payload, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            throw new StreamCorruptedException("Empty frame");
+        }
+        if (payload[offset] != SERIALIZATION_MAGIC) {
+            return BinaryCodec.read(payload, offset, length);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload, offset, length))) {
+            return (Message) ois.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new StreamCorruptedException("Not a message: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.message;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Routes received messages to the handlers registered for their type, for the server and the client alike.
+ * Handlers are kept in a table indexed by message type that is copied whenever a handler is added,
+ * so dispatching is one lookup with no lock and no allocation, from any thread.
+ * The time the handlers take on the dispatching thread is recorded per message type.
+ */
+public final class MessageDispatcher {
+
+    private static final MessageHandler[] NO_HANDLERS = new MessageHandler[0];
+
+    // Replaced as a whole when a handler is added, never changed after being published
+    private volatile Map<MessageType, MessageHandler[]> handlers = new EnumMap<>(MessageType.class);
+
+    private final Map<MessageType, LatencyHistogram> latencies = new EnumMap<>(MessageType.class);
+
+    public MessageDispatcher() {
+        for (MessageType type : MessageType.values()) {
+            latencies.put(type, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Registers a handler after the handlers already registered for its message type.
+     *
+     * @param handler the handler to add
+     */
+    public synchronized void add(final MessageHandler handler) {
+        Map<MessageType, MessageHandler[]> copy = new EnumMap<>(handlers);
+        MessageHandler[] ofType = copy.getOrDefault(handler.getMessageType(), NO_HANDLERS);
+        MessageHandler[] added = Arrays.copyOf(ofType, ofType.length + 1);
+        added[ofType.length] = handler;
+        copy.put(handler.getMessageType(), added);
+        handlers = copy;
+    }
+
+    /**
+     * @param type the message type
+     * @return the handlers of the type in the order they were added; the array must not be modified
+     */
+    public MessageHandler[] handlersOf(final MessageType type) {
+        return handlers.getOrDefault(type, NO_HANDLERS);
+    }
+
+    /**
+     * Passes a message to every handler of its type, in the order they were added.
+     *
+     * @param message the message and its sender
+     */
+    public void dispatch(final MessageSenderPair message) {
+        long start = System.nanoTime();
+        for (MessageHandler handler : handlersOf(message.getMessageType())) {
+            handler.handle(message);
+        }
+        latencies.get(message.getMessageType()).record(System.nanoTime() - start);
+    }
+
+    /**
+     * @param type the message type
+     * @return the time the handlers of the type took for each message dispatched
+     */
+    public LatencyHistogram getLatency(final MessageType type) {
+        return latencies.get(type);
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.message;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+
+/**
+ * Wire format shared by the client and every server transport.
+ * A frame is the length of the payload as a 4-byte big-endian int, followed by the payload:
+ * one message written by a {@link MessageCodec}.
+ * Framing lets a non-blocking reader tell when a whole message has arrived without blocking on a stream.
+ */
+public final class MessageFrames {
+
+    /**
+     * Size of the length prefix of a frame.
+     */
+    public static final int HEADER_BYTES = 4;
+
+    /**
+     * Frames announcing a bigger payload are rejected, so a broken or hostile peer cannot make us allocate it.
+     */
+    public static final int MAX_PAYLOAD_BYTES = 16 * 1024 * 1024;
+
+    private MessageFrames() {}
+
+    /**
+     * Encodes a message into a complete frame with Java serialization, length prefix included.
+     *
+     * @param message the message to encode
+     * @return the frame
+     */
+    public static byte[] encode(final Message message) throws IOException
+    {
+        return encode(message, MessageCodec.SERIALIZATION);
+    }
+
+    /**
+     * Encodes a message into a complete frame, length prefix included.
+     *
+     * @param message the message to encode
+     * @param codec the codec writing the payload
+     * @return the frame
+     */
+    public static byte[] encode(final Message message, final MessageCodec codec) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0); // patched below once the length is known
+        codec.write(message, out);
+        out.flush();
+        byte[] frame = bytes.toByteArray();
+        int length = frame.length - HEADER_BYTES;
+        frame[0] = (byte) (length >>> 24);
+        frame[1] = (byte) (length >>> 16);
+        frame[2] = (byte) (length >>> 8);
+        frame[3] = (byte) length;
+        return frame;
+    }
+
+    /**
+     * Decodes the payload of a frame, whichever codec wrote it.
+     *
+     * @param payload the buffer holding the payload
+     * @param offset where the payload starts
+     * @param length the length of the payload
+     * @return the message
+     */
+    public static Message decode(final byte[] payload, final int offset, final int length) throws IOException
+    {
+        return MessageCodec.read(payload, offset, length);
+    }
+
+    /**
+     * Checks the length read from a frame header.
+     *
+     * @param length the announced payload length
+     * @return the length
+     */
+    public static int checkLength(final int length) throws IOException
+    {
+        if (length < 0 || length > MAX_PAYLOAD_BYTES) {
+            throw new StreamCorruptedException("Invalid frame length " + length);
+        }
+        return length;
+    }
+
+    /**
+     * Writes a message as one frame to a blocking stream.
+     *
+     * @param out the stream to write to
+     * @param message the message to write
+     * @param codec the codec writing the payload
+     */
+    public static void write(final DataOutputStream out, final Message message, final MessageCodec codec) throws IOException
+    {
+        out.write(encode(message, codec));
+        out.flush();
+    }
+
+    /**
+     * Writes a message as one frame to a blocking stream with Java serialization.
+     *
+     * @param out the stream to write to
+     * @param message the message to write
+     */
+    public static void write(final DataOutputStream out, final Message message) throws IOException
+    {
+        write(out, message, MessageCodec.SERIALIZATION);
+    }
+
+    /**
+     * Reads one frame from a blocking stream.
+     *
+     * @param in the stream to read from
+     * @return the message of the frame
+     */
+    public static Message read(final DataInputStream in) throws IOException
+    {
+        int length = checkLength(in.readInt());
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        return decode(payload, 0, length);
+    }
+}
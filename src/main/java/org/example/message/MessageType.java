@@ -16,4 +16,7 @@ public enum MessageType
     LOAD_GAME,
     GAMENAME,
     BOTS_COUNT,
+    CODEC,
+    GAMESTATE_DELTA,
+    BATCH,
 }
\ No newline at end of file
@@ -2,17 +2,31 @@ package org.example.message;
 
 public class UsernameMessage extends Message {
     private final String username;
+    private final String roomId;
 
     public UsernameMessage(final String username) {
+        this(username, null);
+    }
+
+    /**
+     * @param username the name of the user
+     * @param roomId the ID of the room to join, or null for the server's default room
+     */
+    public UsernameMessage(final String username, final String roomId) {
         super(MessageType.USERNAME);
         this.username = username;
+        this.roomId = roomId;
     }
 
     public String getUsername() {
         return username;
     }
 
+    public String getRoomId() {
+        return roomId;
+    }
+
     public String toString() {
-        return username;
+        return roomId == null ? username : username + "@" + roomId;
     }
 }
@@ -0,0 +1,54 @@
+package org.example.message.clientHandlers;
+
+import javafx.application.Platform;
+import org.example.GameState;
+import org.example.client.Client;
+import org.example.client.GUI.GameScreen;
+import org.example.message.CommandMessage;
+import org.example.message.Commands;
+import org.example.message.GameStateDeltaMessage;
+import org.example.message.MessageHandler;
+import org.example.message.MessageSenderPair;
+import org.example.message.MessageType;
+
+/**
+ * Applies a game state change to the local board and redraws it, asking for a full state if a change was missed.
+ * Changes are applied on the FX thread, which is the thread drawing the board.
+ */
+public class GameStateDeltaMessageGUIHandler extends MessageHandler {
+
+    private final GameState gameState;
+    private final GameScreen gameScreen;
+
+    // Sequence of the state when a full state was last asked for, so it is asked for once until it arrives. FX thread only
+    private long resyncRequestedAt = -1;
+
+    public GameStateDeltaMessageGUIHandler(GameState gm, GameScreen gameScreen) {
+        super(MessageType.GAMESTATE_DELTA);
+        this.gameState = gm;
+        this.gameScreen = gameScreen;
+    }
+
+    @Override
+    public void handle(final MessageSenderPair message) {
+        GameStateDeltaMessage delta = (GameStateDeltaMessage) message.getMessage();
+        Platform.runLater(() -> apply(delta));
+    }
+
+    private void apply(final GameStateDeltaMessage delta) {
+        if (delta.getSequence() <= gameState.getSequence()) {
+            // Already part of the full state that came in meanwhile
+            return;
+        }
+        if (!delta.applyTo(gameState)) {
+            if (resyncRequestedAt != gameState.getSequence()) {
+                System.out.println("Missed a game state change, resynchronizing.");
+                resyncRequestedAt = gameState.getSequence();
+                Client.getClient().send(new CommandMessage(Commands.SYNC_STATE, new String[0]));
+            }
+            return;
+        }
+        gameScreen.updateBoard();
+        gameScreen.updateTurn(delta.getTurn());
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.message.clientHandlers;
+
+import org.example.GameState;
+import org.example.client.Client;
+import org.example.message.CommandMessage;
+import org.example.message.Commands;
+import org.example.message.GameStateDeltaMessage;
+import org.example.message.MessageHandler;
+import org.example.message.MessageSenderPair;
+import org.example.message.MessageType;
+
+public class GameStateDeltaMessageHandler extends MessageHandler {
+
+    private final GameState gameState;
+
+    // Sequence of the state when a full state was last asked for, so it is asked for once until it arrives
+    private long resyncRequestedAt = -1;
+
+    public GameStateDeltaMessageHandler(GameState gm) {
+        super(MessageType.GAMESTATE_DELTA);
+        this.gameState = gm;
+    }
+
+    @Override
+    public void handle(final MessageSenderPair message) {
+        GameStateDeltaMessage delta = (GameStateDeltaMessage) message.getMessage();
+
+        if (delta.getSequence() <= gameState.getSequence()) {
+            // Already part of the full state that came in meanwhile
+            return;
+        }
+        if (!delta.applyTo(gameState) && resyncRequestedAt != gameState.getSequence()) {
+            System.out.println("Missed a game state change, resynchronizing.");
+            resyncRequestedAt = gameState.getSequence();
+            Client.getClient().send(new CommandMessage(Commands.SYNC_STATE, new String[0]));
+        }
+    }
+}
@@ -24,8 +24,9 @@ public class GameStateMessageGUIHandler extends MessageHandler {
         GameStateMessage bm = (GameStateMessage) message.getMessage();
 
         bm.getGameState().getBoard().showBoard();
-        gameState.setState(bm.getGameState());
+        // Swapped in on the FX thread, in order with the changes applied there
         Platform.runLater(() -> {
+            gameState.setState(bm.getGameState());
             gameScreen.updateBoard();
             gameScreen.updatePlayerList(bm.getPlayers(), bm.getTurn());
             });
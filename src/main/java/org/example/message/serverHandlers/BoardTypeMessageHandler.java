@@ -1,21 +1,18 @@
 package org.example.message.serverHandlers;
 
 import org.example.message.BoardTypeMessage;
-import org.example.message.MessageHandler;
 import org.example.message.MessageSenderPair;
 import org.example.message.MessageType;
 import org.example.server.GameManager;
+import org.example.server.RoomRegistry;
 
-public class BoardTypeMessageHandler extends MessageHandler {
-    final GameManager gameManager;
-    public BoardTypeMessageHandler(GameManager gameManager) {
-        super(MessageType.BOARD_TYPE);
-
-        this.gameManager = gameManager;
+public class BoardTypeMessageHandler extends RoomMessageHandler {
+    public BoardTypeMessageHandler(RoomRegistry rooms) {
+        super(MessageType.BOARD_TYPE, rooms);
     }
 
     @Override
-    public void handle(MessageSenderPair message) {
+    protected void handle(GameManager gameManager, MessageSenderPair message) {
         BoardTypeMessage boardTypeMessage = (BoardTypeMessage) message.getMessage();
         gameManager.setBoard(boardTypeMessage.getBoardType().createBoard());
     }
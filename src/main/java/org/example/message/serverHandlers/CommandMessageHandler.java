@@ -1,25 +1,20 @@
 package org.example.message.serverHandlers;
 
 import org.example.message.CommandMessage;
-import org.example.message.MessageHandler;
 import org.example.message.MessageSenderPair;
 import org.example.message.MessageType;
 import org.example.server.GameManager;
-import org.example.server.Server;
-import org.example.server.ServerConnection;
+import org.example.server.RoomRegistry;
 
-public final class CommandMessageHandler extends MessageHandler {
-    private final GameManager gameManager;
+public final class CommandMessageHandler extends RoomMessageHandler {
 
-    public CommandMessageHandler(final GameManager gm) {
-        super(MessageType.COMMAND);
-        gameManager = gm;
+    public CommandMessageHandler(final RoomRegistry rooms) {
+        super(MessageType.COMMAND, rooms);
     }
 
     @Override
-    public void handle(MessageSenderPair message) {
+    protected void handle(GameManager gameManager, MessageSenderPair message) {
         CommandMessage commandMessage = (CommandMessage) message.getMessage();
-        ServerConnection sc = message.getConnection();
 
         switch (commandMessage.getCommand()) {
             case SET_PLAYER_COUNT:
@@ -32,7 +27,11 @@ public final class CommandMessageHandler extends MessageHandler {
                 break;
 
             case START_GAME:
-                gameManager.startGame(Server.getServer().getConnections());
+                gameManager.startGame(gameManager.getConnections());
+                break;
+
+            case SYNC_STATE:
+                gameManager.synchronizeGameState(message.getConnection());
                 break;
             default:
                 System.out.println(commandMessage.getCommand().name() + " not implemented.");
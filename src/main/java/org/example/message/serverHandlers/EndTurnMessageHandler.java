@@ -1,18 +1,16 @@
 package org.example.message.serverHandlers;
 
-import org.example.message.MessageHandler;
 import org.example.message.MessageSenderPair;
 import org.example.message.MessageType;
 import org.example.server.GameManager;
+import org.example.server.RoomRegistry;
 
-public class EndTurnMessageHandler extends MessageHandler {
-    private final GameManager gameManager;
-    public EndTurnMessageHandler(GameManager gameManager) {
-        super(MessageType.END_TURN);
-        this.gameManager = gameManager;
+public class EndTurnMessageHandler extends RoomMessageHandler {
+    public EndTurnMessageHandler(RoomRegistry rooms) {
+        super(MessageType.END_TURN, rooms);
     }
     @Override
-    public void handle(MessageSenderPair message) {
+    protected void handle(GameManager gameManager, MessageSenderPair message) {
         gameManager.endTurn(gameManager.getPlayerByConnection(message.getConnection()));
     }
 }
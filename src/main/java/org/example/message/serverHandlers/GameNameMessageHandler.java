@@ -1,22 +1,19 @@
 package org.example.message.serverHandlers;
 
 import org.example.message.GameNameMessage;
-import org.example.message.MessageHandler;
 import org.example.message.MessageSenderPair;
 import org.example.message.MessageType;
 import org.example.server.GameManager;
+import org.example.server.RoomRegistry;
 
-public class GameNameMessageHandler extends MessageHandler {
+public class GameNameMessageHandler extends RoomMessageHandler {
 
-    private final GameManager gameManager;
-
-    public GameNameMessageHandler(GameManager gameManager) {
-        super(MessageType.GAMENAME);
-        this.gameManager = gameManager;
+    public GameNameMessageHandler(RoomRegistry rooms) {
+        super(MessageType.GAMENAME, rooms);
     }
 
     @Override
-    public void handle(MessageSenderPair message) {
+    protected void handle(GameManager gameManager, MessageSenderPair message) {
         gameManager.setGameName(((GameNameMessage)message.getMessage()).getGameName());
     }
 }
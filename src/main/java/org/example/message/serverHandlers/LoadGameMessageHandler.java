@@ -1,30 +1,28 @@
 package org.example.message.serverHandlers;
 
 import org.example.message.GameToBeLoadedMessage;
-import org.example.message.MessageHandler;
 import org.example.message.MessageSenderPair;
 import org.example.message.MessageType;
 import org.example.server.GameManager;
+import org.example.server.RoomRegistry;
 import org.example.server.db.GameService;
 
-public class LoadGameMessageHandler extends MessageHandler {
-    private final GameManager gameManager;
+public class LoadGameMessageHandler extends RoomMessageHandler {
     private final GameService gameService;
 
-    public LoadGameMessageHandler(GameManager gameManager, GameService gameService) {
-        super(MessageType.LOAD_GAME);
-        this.gameManager = gameManager;
+    public LoadGameMessageHandler(RoomRegistry rooms, GameService gameService) {
+        super(MessageType.LOAD_GAME, rooms);
         this.gameService = gameService;
     }
 
     @Override
-    public void handle(MessageSenderPair message) {
-        gameService.getAllGames().forEach(game -> {
-            String gameName = ((GameToBeLoadedMessage) message.getMessage()).getGameName();
-            if(game.getName() != null && game.getName().equalsIgnoreCase(gameName))
-            {
-                gameManager.setGameToBeLoaded(game);
-            }
-        });
+    protected void handle(GameManager gameManager, MessageSenderPair message) {
+        String gameName = ((GameToBeLoadedMessage) message.getMessage()).getGameName();
+        try {
+            gameService.findGameByName(gameName).ifPresentOrElse(gameManager::setGameToBeLoaded,
+                    () -> gameManager.gameManagerCallbackHandler.onGameNotLoaded("No game named " + gameName));
+        } catch (IllegalStateException e) {
+            gameManager.gameManagerCallbackHandler.onGameNotLoaded(e.getMessage());
+        }
     }
 }
@@ -0,0 +1,39 @@
+package org.example.message.serverHandlers;
+
+import org.example.message.MessageHandler;
+import org.example.message.MessageSenderPair;
+import org.example.message.MessageType;
+import org.example.server.GameManager;
+import org.example.server.RoomRegistry;
+
+/**
+ * A handler of messages that act on a game, routed to the room the sending connection has joined.
+ * The message is handled by a command posted to the room's mailbox, never on the connection's thread.
+ * Messages from connections outside any room are ignored.
+ */
+public abstract class RoomMessageHandler extends MessageHandler {
+    private final RoomRegistry rooms;
+
+    protected RoomMessageHandler(final MessageType messageType, final RoomRegistry rooms) {
+        super(messageType);
+        this.rooms = rooms;
+    }
+
+    @Override
+    public final void handle(final MessageSenderPair message) {
+        GameManager gameManager = rooms.getRoom(message.getConnection());
+        if (gameManager == null) {
+            System.out.println(getMessageType().name() + " ignored, sender has not joined a room.");
+            return;
+        }
+        gameManager.execute(() -> handle(gameManager, message));
+    }
+
+    /**
+     * Handles a message in the room of its sender, on the room's mailbox.
+     *
+     * @param gameManager the game manager of the sender's room
+     * @param message the message and its sender
+     */
+    protected abstract void handle(GameManager gameManager, MessageSenderPair message);
+}
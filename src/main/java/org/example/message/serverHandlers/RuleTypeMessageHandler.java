@@ -1,21 +1,18 @@
 package org.example.message.serverHandlers;
 
-import org.example.message.MessageHandler;
 import org.example.message.MessageSenderPair;
 import org.example.message.MessageType;
 import org.example.message.RulesTypeMessage;
 import org.example.server.GameManager;
+import org.example.server.RoomRegistry;
 
-public class RuleTypeMessageHandler extends MessageHandler {
-    final GameManager gameManager;
-    public RuleTypeMessageHandler(final GameManager gm){
-        super(MessageType.RULES_TYPE);
-
-        gameManager = gm;
+public class RuleTypeMessageHandler extends RoomMessageHandler {
+    public RuleTypeMessageHandler(final RoomRegistry rooms){
+        super(MessageType.RULES_TYPE, rooms);
     }
 
     @Override
-    public void handle(MessageSenderPair message) {
+    protected void handle(GameManager gameManager, MessageSenderPair message) {
         RulesTypeMessage rulesTypeMessage = (RulesTypeMessage) message.getMessage();
         gameManager.setRuleset(rulesTypeMessage.getRulesetType().createRules());
     }
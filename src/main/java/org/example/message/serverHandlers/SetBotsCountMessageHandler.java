@@ -1,22 +1,19 @@
 package org.example.message.serverHandlers;
 
 import org.example.message.BotsCountMessage;
-import org.example.message.MessageHandler;
 import org.example.message.MessageSenderPair;
 import org.example.message.MessageType;
 import org.example.server.GameManager;
+import org.example.server.RoomRegistry;
 
-public class SetBotsCountMessageHandler extends MessageHandler {
-    private final GameManager gameManager;
-    public SetBotsCountMessageHandler(GameManager gameManager) {
-        super(MessageType.BOTS_COUNT);
-
-        this.gameManager = gameManager;
+public class SetBotsCountMessageHandler extends RoomMessageHandler {
+    public SetBotsCountMessageHandler(RoomRegistry rooms) {
+        super(MessageType.BOTS_COUNT, rooms);
     }
 
     @Override
-    public void handle(MessageSenderPair message) {
-        int botsCount = ((BotsCountMessage)message.getMessage()).getBotsCount();
-        gameManager.setBotsCount(botsCount);
+    protected void handle(GameManager gameManager, MessageSenderPair message) {
+        BotsCountMessage botsCountMessage = (BotsCountMessage)message.getMessage();
+        gameManager.setBotsCount(botsCountMessage.getBotsCount(), botsCountMessage.getBotTypes());
     }
 }
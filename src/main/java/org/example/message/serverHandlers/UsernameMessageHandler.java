@@ -5,15 +5,19 @@ import org.example.message.MessageSenderPair;
 import org.example.message.MessageType;
 import org.example.message.UsernameMessage;
 import org.example.server.GameManager;
+import org.example.server.RoomRegistry;
 import org.example.server.ServerConnection;
 import org.example.server.User;
 
+/**
+ * Puts the sending user into the room they asked for.
+ */
 public class UsernameMessageHandler extends MessageHandler {
-    private final GameManager gameManager;
+    private final RoomRegistry rooms;
 
-    public UsernameMessageHandler(final GameManager gameManager) {
+    public UsernameMessageHandler(final RoomRegistry rooms) {
         super(MessageType.USERNAME);
-        this.gameManager = gameManager;
+        this.rooms = rooms;
     }
 
     @Override
@@ -21,8 +25,13 @@ public class UsernameMessageHandler extends MessageHandler {
         UsernameMessage usernameMessage = (UsernameMessage) message.getMessage();
         ServerConnection sc = message.getConnection();
 
-        gameManager.addUser(new User(usernameMessage.getUsername(), sc));
+        GameManager gameManager = rooms.join(usernameMessage.getRoomId(), sc);
+        gameManager.execute(() -> {
+            gameManager.removeUser(sc);
+            gameManager.addUser(new User(usernameMessage.getUsername(), sc));
 
-        gameManager.synchronizeUsers();
+            gameManager.synchronizeUsers();
+            gameManager.synchronizeGameState(sc);
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package org.example.server;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The original transport: one thread accepts sockets and every connection gets a thread blocking on its reads.
+ * Writes to a connection run on writer threads while its outbound queue has frames.
+ * The connection threads can be virtual threads, which park instead of holding a carrier thread while they
+ * wait for the socket, so the transport scales to many idle connections with its simple blocking code.
+ */
+final class BlockingTransport implements Transport {
+
+    private final ThreadFactory connectionThreads;
+    private final ExecutorService writerThreads;
+    private ServerSocket serverSocket;
+    private Thread listenerThread;
+    private volatile boolean open;
+
+    /**
+     * @param virtualThreads whether the read loops of the connections run on virtual threads
+     */
+    BlockingTransport(boolean virtualThreads) {
+        this.connectionThreads = virtualThreads
+                ? Thread.ofVirtual().name("connection-", 0).factory()
+                : Thread.ofPlatform().name("connection-", 0).factory();
+        this.writerThreads = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("connection-writer-", 0).factory())
+                : Executors.newCachedThreadPool(Thread.ofPlatform().name("connection-writer-", 0).daemon().factory());
+    }
+
+    @Override
+    public void bind(int port) throws IOException {
+        serverSocket = new ServerSocket(port);
+        open = true;
+    }
+
+    @Override
+    public int getPort() {
+        return serverSocket == null ? -1 : serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void listen(Server server) {
+        listenerThread = new Thread(() -> {
+            while (open) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    StreamConnection sc;
+                    try {
+                        sc = new StreamConnection(server, socket, writerThreads);
+                    } catch (IOException e) {
+                        socket.close();
+                        throw e;
+                    }
+                    server.onConnected(sc);
+                    connectionThreads.newThread(sc).start();
+                } catch (IOException e) {
+                    if (open) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        }, "server-accept");
+        listenerThread.start();
+    }
+
+    @Override
+    public void close() {
+        open = false;
+        writerThreads.shutdown();
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.server;
+
+import org.example.Config;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the turns of the bots on a dedicated, bounded pool of daemon threads,
+ * so a bot thinking never blocks the threads handling the connections.
+ * Turns start after a scheduled delay, which holds no thread while it runs out.
+ */
+public final class BotExecutor {
+
+    private static final BotExecutor instance = new BotExecutor(Config.BOT_THREADS);
+
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Creates an executor with the given number of threads.
+     *
+     * @param threads the number of bot turns that can run at the same time
+     */
+    public BotExecutor(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "bot-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = Executors.newScheduledThreadPool(threads, factory);
+    }
+
+    /**
+     * Returns the executor shared by all games of the process.
+     *
+     * @return the shared executor
+     */
+    public static BotExecutor getInstance() {
+        return instance;
+    }
+
+    /**
+     * Runs a bot turn after the given delay.
+     * Exceptions thrown by the turn are printed instead of being swallowed by the executor.
+     *
+     * @param turn the turn to run
+     * @param delayMillis how long to wait before running it
+     */
+    public void schedule(Runnable turn, long delayMillis) {
+        executor.schedule(() -> {
+            try {
+                turn.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the executor, abandoning the turns that have not started yet.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
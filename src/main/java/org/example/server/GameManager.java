@@ -1,22 +1,32 @@
 package org.example.server;
 
+import org.example.Config;
 import org.example.GameState;
 import org.example.game_logic.*;
+import org.example.message.GameStateDeltaMessage;
 import org.example.message.GameStateMessage;
 import org.example.message.UserlistMessage;
 import org.example.server.db.GameDocument;
+import org.example.server.db.PositionSnapshot;
+import org.example.server.db.ReplayValidator;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * Manages the game state, users, game flow, and synchronization in the game.
- * This class follows the Singleton design pattern and ensures that only one instance
- * of the game manager exists.
+ * Manages the game state, users, game flow, and synchronization of the game in one room.
+ * Every room of the {@link RoomRegistry} owns its own game manager, so a server can host many games at once.
+ * A game manager is not thread-safe: apart from {@link #execute(Runnable)}, its methods must only be called
+ * from commands run by its {@link Mailbox}, which runs them one at a time.
  */
 public final class GameManager {
 
-    private static GameManager instance = new GameManager();
+    // ID of the room this game is played in
+    private final String roomId;
+
+    // Runs every command that touches the game, one at a time
+    private final Mailbox mailbox = new Mailbox();
 
     // Lobby to hold users waiting to play
     private final List<User> lobby = new ArrayList<>();
@@ -29,20 +39,47 @@ public final class GameManager {
     private List<Agent> agents = new ArrayList<>();
     private int currentTurn = 0;
     private int botsCount = 0;
+    private List<BotType> botTypes = new ArrayList<>();
     private int playersFinished = 0;
 
+    // Counts the prompts, so the result of a bot turn that is no longer current can be recognised
+    private long turnNumber = 0;
+
     // Ruleset for the game
     private Rules ruleset = new StandardRules();
-    public GameManagerCallbackHandler gameManagerCallbackHandler = new GameManagerCallbackHandler();
+    private final MoveGenerator moveGenerator = new MoveGenerator();
+    public GameManagerCallbackHandler gameManagerCallbackHandler = new GameManagerCallbackHandler(this);
 
     // Game saving and loading
     private String gameName;
     private GameDocument gameToBeLoaded;
+    // The saved game the current game was resumed from, or null if it started afresh
+    private GameDocument resumedGame;
+    // Seed of the starting layout of the current game, saved with it
+    private long layoutSeed;
 
     /**
-     * Private constructor for Singleton design pattern.
+     * Creates the game manager of a room.
+     *
+     * @param roomId the ID of the room
      */
-    private GameManager() {
+    public GameManager(String roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    /**
+     * Queues a command to run on the game after the commands queued before it.
+     * What the command sends goes out in one {@link OutboundBatch} per connection once it is done.
+     * This is the only method that may be called from any thread.
+     *
+     * @param command the command to run
+     */
+    public void execute(Runnable command) {
+        mailbox.post(() -> OutboundBatch.run(Server.getServer(), command));
     }
 
     /**
@@ -60,27 +97,10 @@ public final class GameManager {
         gameManagerCallbackHandler.onRulesChanged("Rules changed!");
     }
 
-    /**
-     * Creates and returns the singleton instance of GameManager.
-     *
-     * @return the singleton instance of GameManager
-     */
-    public static GameManager create() {
-        return instance = new GameManager();
-    }
-
-    /**
-     * Returns the singleton instance of GameManager.
-     *
-     * @return the singleton instance of GameManager
-     */
-    public static GameManager getInstance() {
-        return instance;
-    }
-
     /**
      * Starts the game if conditions are met (valid number of users, game board, and ruleset).
      * Initializes the agents and sets up the board, then starts the game.
+     * A loaded game is not started if one of its stored moves turns out to be illegal when replayed.
      *
      * @param users list of users who are playing the game
      * @return true if the game started successfully, false otherwise
@@ -113,26 +133,46 @@ public final class GameManager {
             agents.add(new Player(user, agents.size()));
         }
         for (int i = 0; i < botsCount; i++) {
-            agents.add(new Bot(agents.size()));
+            agents.add(getBotType(i).createBot(agents.size()));
         }
         gameState.getBoard().generateBoard();
         gameState.getBoard().defineBases();
         gameState.getBoard().defineNeighbours();
         ruleset.assignBasesToAgents(gameState.getBoard(), agents);
-        ruleset.setupBoard(gameState.getBoard(), agents);
-        gameState.setRunning(true);
+        // A loaded game is set up from the seed it started with, so a random layout comes out the same again
+        layoutSeed = gameToBeLoaded != null && gameToBeLoaded.getLayoutSeed() != null
+                ? gameToBeLoaded.getLayoutSeed() : ThreadLocalRandom.current().nextLong();
+        ruleset.setLayoutSeed(layoutSeed);
+        // A loaded game starts from its latest snapshot, if it has a usable one, and replays only the moves after it
+        List<org.example.server.db.Move> movesToReplay = gameToBeLoaded == null ? List.of() : gameToBeLoaded.getMoves();
+        PositionSnapshot snapshot = gameToBeLoaded == null ? null : gameToBeLoaded.getSnapshot();
+        int replayedBefore = 0;
+        if (snapshot != null && snapshot.getMoveCount() <= movesToReplay.size()
+                && snapshot.getCells().length == gameState.getBoard().getNodeCount()) {
+            snapshot.restore(gameState.getBoard(), agents);
+            replayedBefore = snapshot.getMoveCount();
+            movesToReplay = movesToReplay.subList(replayedBefore, movesToReplay.size());
+        } else {
+            ruleset.setupBoard(gameState.getBoard(), agents);
+        }
 
         if(gameToBeLoaded != null) {
-            gameToBeLoaded.getMoves().forEach(move -> {
-                Move m = new Move(gameState.getBoard().getNode(move.getStartPosition()), gameState.getBoard().getNode(move.getEndPosition()));
-                gameState.getBoard().move(m);
-            });
+            int replayed = ReplayValidator.replay(gameState.getBoard(), movesToReplay);
+            if (replayed < movesToReplay.size()) {
+                gameToBeLoaded = null;
+                agents.clear();
+                gameManagerCallbackHandler.onGameNotStarted("Saved game is corrupt: move " + (replayedBefore + replayed + 1) + " is illegal!");
+                return false;
+            }
 
             currentTurn = gameToBeLoaded.getCurrentTurn();
-            gameToBeLoaded = null;
         }
+        resumedGame = gameToBeLoaded;
+        gameToBeLoaded = null;
+        gameState.setRunning(true);
+        gameState.getBoard().setSideToMove(currentTurn);
 
-        agents.get(currentTurn).promptMove(gameState.getBoard());
+        promptCurrentAgent();
 
         synchronizeGameState();
 
@@ -208,9 +248,15 @@ public final class GameManager {
             gameManagerCallbackHandler.onInvalidMove(agent, move, "You can't move another player's pawns!");
             return false;
         }
-        if (ruleset.validateMove(gameState.getBoard(), move) || !agent.isPlayer()) {
+        // Bots move a whole hop chain at once, so their moves are checked against the reachable set instead
+        boolean valid = agent.isPlayer()
+                ? ruleset.validateMove(gameState.getBoard(), move)
+                : moveGenerator.canReach(gameState.getBoard(), gameState.getBoard().getPawn(move.getStart()), move.getEnd());
+        if (valid) {
             gameState.getBoard().move(move);
-            synchronizeGameState();
+            Pawn pawn = gameState.getBoard().getPawn(move.getEnd());
+            sendDelta(GameStateDeltaMessage.cell(move.getStart().getIndex(), -1, false),
+                    GameStateDeltaMessage.cell(move.getEnd().getIndex(), agent.getId(), pawn.isBaseLocked()));
             gameManagerCallbackHandler.onValidMove(agent, move, "Valid move!");
             return true;
         } else {
@@ -253,10 +299,25 @@ public final class GameManager {
 
     /**
      * Synchronizes the game state across all players.
-     * This method sends a game state update to all connected players.
+     * Sends a full snapshot to all users in the room; used when the whole state changes, at the start and end of a game.
+     * Every other change goes out as a {@link GameStateDeltaMessage}.
      */
     public void synchronizeGameState() {
         System.out.println("Synchronizing game state.");
+        gameState.setSequence(gameState.getSequence() + 1);
+        Server.getServer().Send(createGameStateMessage(), getConnections());
+    }
+
+    /**
+     * Sends a full snapshot of the game state to one connection, which joined or asked for a resync.
+     *
+     * @param sc the connection to send the snapshot to
+     */
+    public void synchronizeGameState(ServerConnection sc) {
+        Server.getServer().Send(createGameStateMessage(), sc);
+    }
+
+    private GameStateMessage createGameStateMessage() {
         List<String> playerNames = new ArrayList<>();
         for (Agent agent : agents) {
             playerNames.add(agent.isPlayer() ? ((Player) agent).getOwner().getUsername() : "AI-"+(((Bot)agent).getId().toString()));
@@ -264,14 +325,24 @@ public final class GameManager {
         String[] playerNamesArray = new String[playerNames.size()];
         playerNamesArray = playerNames.toArray(playerNamesArray);
 
-        GameStateMessage gsm = new GameStateMessage(gameState.clone(), playerNamesArray, currentTurn);
-        gsm.getGameState().getBoard().showBoard();
-        Server.getServer().Broadcast(gsm);
+        // The message refers to the live state, not a copy: sent from within a command it is only encoded once
+        // the command is done, so it carries the board and sequence as they are then, see OutboundBatch
+        return new GameStateMessage(gameState, playerNamesArray, currentTurn);
+    }
+
+    /**
+     * Sends the changed cells and the current turn to all users in the room.
+     *
+     * @param cells the changed cells, packed with {@link GameStateDeltaMessage#cell(int, int, boolean)}
+     */
+    private void sendDelta(int... cells) {
+        gameState.setSequence(gameState.getSequence() + 1);
+        Server.getServer().Send(new GameStateDeltaMessage(gameState.getSequence(), currentTurn, cells), getConnections());
     }
 
     /**
      * Synchronizes the user list across all players.
-     * This method sends the user list to all connected players.
+     * This method sends the user list to all users in the room.
      */
     public void synchronizeUsers() {
         System.out.println("Synchronizing users.");
@@ -281,7 +352,7 @@ public final class GameManager {
         }
         String[] usernamesArray = new String[usernames.size()];
         usernamesArray = usernames.toArray(usernamesArray);
-        Server.getServer().Broadcast(new UserlistMessage(usernamesArray));
+        Server.getServer().Send(new UserlistMessage(usernamesArray), getConnections());
     }
 
     /**
@@ -293,6 +364,32 @@ public final class GameManager {
         lobby.add(user);
     }
 
+    /**
+     * Returns the connections of the users in the room.
+     *
+     * @return the connections, in the order the users joined
+     */
+    public List<ServerConnection> getConnections() {
+        List<ServerConnection> connections = new ArrayList<>();
+        for (User user : lobby) {
+            connections.add(user.getConnection());
+        }
+        return connections;
+    }
+
+    public boolean isRunning() {
+        return gameState.isRunning();
+    }
+
+    /**
+     * Stops the game when the room is closed, dropping any bot turn still in progress.
+     */
+    public void close() {
+        if (gameState.isRunning()) {
+            endGame();
+        }
+    }
+
     /**
      * Removes a user from the lobby by their connection.
      *
@@ -351,11 +448,58 @@ public final class GameManager {
             }
         }
         while (agents.get(currentTurn).getHasWon());
-        synchronizeGameState();
+        gameState.getBoard().setSideToMove(currentTurn);
+        sendDelta();
 
         gameManagerCallbackHandler.onTurnChange(oldTurn, agents.get(currentTurn), currentTurn);
 
-        agents.get(currentTurn).promptMove(gameState.getBoard());
+        promptCurrentAgent();
+    }
+
+    /**
+     * Asks the agent whose turn it is for a move.
+     * Bots think on the {@link BotExecutor} and post their move back once they are done,
+     * so a game of bots does not recurse through the turns on the calling thread.
+     * A bot thinks on a copy of the board taken here, on the mailbox thread, as the room's state is only
+     * touched there. A bot that fails to choose a move passes, so its turn still ends and the game goes on.
+     */
+    private void promptCurrentAgent() {
+        Agent agent = agents.get(currentTurn);
+        long turn = ++turnNumber;
+        if (!(agent instanceof Bot bot)) {
+            agent.promptMove(gameState.getBoard());
+            return;
+        }
+        Board board;
+        try {
+            board = gameState.getBoard().clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Board cannot be copied for bot " + bot.getId(), e);
+        }
+        BotExecutor.getInstance().schedule(() -> {
+            Move move = null;
+            try {
+                move = bot.chooseMove(board);
+            } catch (RuntimeException e) {
+                System.out.println("Bot " + bot.getId() + " failed to choose a move, passing");
+                e.printStackTrace();
+            }
+            Move chosen = move;
+            execute(() -> finishBotTurn(bot, turn, chosen));
+        }, Config.BOT_MOVE_DELAY_MILLIS);
+    }
+
+    private void finishBotTurn(Bot bot, long turn, Move move) {
+        if (turn != turnNumber || !gameState.isRunning() || agents.get(currentTurn) != bot) {
+            System.out.println("Dropping stale move of " + bot.getId());
+            return;
+        }
+        if (move != null) {
+            // The move refers to the nodes of the copy the bot searched
+            Board board = gameState.getBoard();
+            makeMove(bot, new Move(board.getNode(move.getStart().getIndex()), board.getNode(move.getEnd().getIndex())));
+        }
+        endTurn(bot);
     }
 
     private void endGame() {
@@ -366,10 +510,18 @@ public final class GameManager {
         synchronizeGameState();
     }
 
+    public Board getBoard() {
+        return gameState.getBoard();
+    }
+
     public BoardType getBoardType() {
         return gameState.getBoard().getBoardType();
     }
 
+    public long getLayoutSeed() {
+        return layoutSeed;
+    }
+
     public RulesType getRulesType() {
         return ruleset.getRulesType();
     }
@@ -402,12 +554,36 @@ public final class GameManager {
         this.gameToBeLoaded = gameToBeLoaded;
     }
 
+    public GameDocument getResumedGame() {
+        return resumedGame;
+    }
+
+    public int getCurrentTurn() {
+        return currentTurn;
+    }
+
     public GameDocument getGameToBeLoaded() {
         return gameToBeLoaded;
     }
 
     public void setBotsCount(int botsCount) {
+        setBotsCount(botsCount, List.of());
+    }
+
+    /**
+     * Sets the number of bots and the kind of bot in each bot seat.
+     * Seats without a type get a {@link BotType#HEURISTIC} bot. Takes effect when the next game is started.
+     *
+     * @param botsCount the number of bots
+     * @param botTypes the types of the bots, in seat order
+     */
+    public void setBotsCount(int botsCount, List<BotType> botTypes) {
         this.botsCount = botsCount;
+        this.botTypes = new ArrayList<>(botTypes);
         gameManagerCallbackHandler.onBotsCountChanged(botsCount);
     }
+
+    private BotType getBotType(int bot) {
+        return bot < botTypes.size() && botTypes.get(bot) != null ? botTypes.get(bot) : BotType.HEURISTIC;
+    }
 }
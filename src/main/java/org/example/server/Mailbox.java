@@ -0,0 +1,91 @@
+package org.example.server;
+
+import org.example.Config;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A queue of commands run one at a time, in the order they were posted, on a shared pool of threads.
+ * Any number of threads may post without blocking: commands go into a lock-free queue and the mailbox
+ * schedules itself on the pool whenever it has work and is not already running.
+ * Each game room owns a mailbox, so its state is only ever touched by one thread at a time,
+ * while different rooms run in parallel.
+ */
+public final class Mailbox {
+
+    // How many commands are run before the thread is given back to the pool, so busy rooms cannot starve others
+    private static final int BATCH_SIZE = 64;
+
+    private static final ExecutorService sharedExecutor = createSharedExecutor();
+
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final Executor executor;
+
+    /**
+     * Creates a mailbox running its commands on the pool shared by all rooms.
+     */
+    public Mailbox() {
+        this(sharedExecutor);
+    }
+
+    /**
+     * Creates a mailbox running its commands on the given executor.
+     *
+     * @param executor the executor to run the commands on
+     */
+    public Mailbox(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Posts a command to be run after every command posted before it.
+     * Exceptions thrown by the command are printed and do not stop the mailbox.
+     *
+     * @param command the command to run
+     */
+    public void post(Runnable command) {
+        commands.add(command);
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Runnable command = commands.poll();
+            if (command == null) {
+                break;
+            }
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        scheduled.set(false);
+        // A command may have been posted after the last poll but before the flag was cleared
+        if (!commands.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private static ExecutorService createSharedExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(Config.ROOM_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "room-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
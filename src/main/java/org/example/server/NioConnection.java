@@ -0,0 +1,164 @@
+package org.example.server;
+
+import org.example.message.Message;
+import org.example.message.MessageFrames;
+import org.example.message.MessageType;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Connection of the {@link NioTransport}, read and written only by the I/O thread of its loop.
+ * Frames sent from other threads wait in the outbound queue until the loop flushes them;
+ * when the socket cannot take more, the loop waits for it to become writable again.
+ * Between messages the connection holds no buffers, only the 4 bytes of a partly received header.
+ */
+final class NioConnection extends ServerConnection
+{
+    private final NioTransport.IoLoop loop;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+
+    // Whether a flush is already on its way to the loop, and the frame the socket took only part of
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private ByteBuffer pending;
+
+    // A frame split across reads: its header, then its payload once the length is known
+    private final ByteBuffer header = ByteBuffer.allocate(MessageFrames.HEADER_BYTES);
+    private ByteBuffer payload;
+
+    private volatile boolean closed;
+
+    NioConnection(final Server server, final NioTransport.IoLoop loop, final SocketChannel channel, final SelectionKey key)
+    {
+        super(server);
+        this.loop = loop;
+        this.channel = channel;
+        this.key = key;
+    }
+
+    /**
+     * Lets the loop write the queued frames
+     */
+    @Override
+    void scheduleWrite()
+    {
+        if (flushScheduled.compareAndSet(false, true)) {
+            loop.execute(this::flushQuietly);
+        }
+    }
+
+    @Override
+    void close() throws IOException
+    {
+        closed = true;
+        outbound.close();
+        channel.close();
+    }
+
+    /**
+     * Reads what the socket has and hands every complete message to the server.
+     * Frames that arrived whole are decoded straight from the loop's read buffer.
+     */
+    void read(final ByteBuffer buffer) throws IOException
+    {
+        buffer.clear();
+        if (channel.read(buffer) < 0) {
+            server.Disconnect(this);
+            return;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining() && !closed) {
+            if (payload == null) {
+                while (header.hasRemaining() && buffer.hasRemaining()) {
+                    header.put(buffer.get());
+                }
+                if (header.hasRemaining()) {
+                    return;
+                }
+                header.flip();
+                int length = MessageFrames.checkLength(header.getInt());
+                header.clear();
+                if (buffer.remaining() >= length) {
+                    Message message = decode(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+                    buffer.position(buffer.position() + length);
+                    dispatch(message);
+                    continue;
+                }
+                payload = ByteBuffer.allocate(length);
+            }
+            int count = Math.min(payload.remaining(), buffer.remaining());
+            payload.put(payload.position(), buffer, buffer.position(), count);
+            payload.position(payload.position() + count);
+            buffer.position(buffer.position() + count);
+            if (!payload.hasRemaining()) {
+                Message message = decode(payload.array(), 0, payload.capacity());
+                payload = null;
+                dispatch(message);
+            }
+        }
+    }
+
+    /**
+     * Decodes a frame, reporting any failure as an IOException: a frame that cannot be decoded
+     * leaves the stream out of step, so the connection must be closed.
+     */
+    private static Message decode(final byte[] frame, final int offset, final int length) throws IOException
+    {
+        try {
+            return MessageFrames.decode(frame, offset, length);
+        } catch (RuntimeException e) {
+            throw new StreamCorruptedException("Undecodable frame: " + e);
+        }
+    }
+
+    private void dispatch(final Message message)
+    {
+        server.HandleMessage(message, this);
+        if (message.getType() == MessageType.DISCONNECT || !server.isRunning()) {
+            server.Disconnect(this);
+        }
+    }
+
+    /**
+     * Writes queued frames until the queue is empty or the socket is full.
+     * Frames are wrapped rather than copied, as the same frame may be queued for many connections.
+     * Runs on the loop thread only.
+     */
+    void flush() throws IOException
+    {
+        // Cleared first, so a frame queued while flushing schedules another flush
+        flushScheduled.set(false);
+        while (pending != null || (pending = wrap(outbound.poll())) != null) {
+            channel.write(pending);
+            if (pending.hasRemaining()) {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            pending = null;
+        }
+        key.interestOps(SelectionKey.OP_READ);
+    }
+
+    private static ByteBuffer wrap(final byte[] frame)
+    {
+        return frame == null ? null : ByteBuffer.wrap(frame);
+    }
+
+    private void flushQuietly()
+    {
+        if (closed || !key.isValid()) {
+            return;
+        }
+        try {
+            flush();
+        } catch (IOException e) {
+            System.out.println("Server exception: " + e.getMessage());
+            server.Disconnect(this);
+        }
+    }
+}
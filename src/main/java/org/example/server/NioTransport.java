@@ -0,0 +1,205 @@
+package org.example.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transport multiplexing every connection over a small fixed pool of selector threads.
+ * The first I/O thread also accepts the connections and hands them out to the threads in turn.
+ * An idle connection costs a registered channel and a few small objects, never a thread,
+ * so a node can hold tens of thousands of lobby connections.
+ * Messages are decoded and handed to the server on the I/O thread of their connection,
+ * which is why handlers must not block: the ones acting on a game post their work to its room.
+ */
+final class NioTransport implements Transport {
+
+    // Bytes read from a socket in one go; frames that fit are decoded straight from the buffer
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+
+    private final IoLoop[] loops;
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private ServerSocketChannel serverChannel;
+
+    /**
+     * @param ioThreads the number of selector threads, at least 1
+     */
+    NioTransport(int ioThreads) {
+        if (ioThreads < 1) {
+            throw new IllegalArgumentException("NIO transport needs at least one I/O thread!");
+        }
+        this.loops = new IoLoop[ioThreads];
+    }
+
+    @Override
+    public void bind(int port) throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), 1024);
+        serverChannel.configureBlocking(false);
+    }
+
+    @Override
+    public int getPort() {
+        try {
+            return serverChannel == null ? -1 : ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public void listen(Server server) {
+        try {
+            for (int i = 0; i < loops.length; i++) {
+                loops[i] = new IoLoop(server, "server-io-" + i);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not open a selector", e);
+        }
+        loops[0].execute(() -> {
+            try {
+                serverChannel.register(loops[0].selector, SelectionKey.OP_ACCEPT);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+        for (IoLoop loop : loops) {
+            loop.thread.start();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        for (IoLoop loop : loops) {
+            if (loop != null) {
+                loop.close();
+            }
+        }
+    }
+
+    private void accept(Server server) throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            IoLoop loop = loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)];
+            SocketChannel accepted = channel;
+            loop.execute(() -> loop.register(server, accepted));
+        }
+    }
+
+    /**
+     * A selector and the thread running it. Other threads talk to the loop through its task queue.
+     */
+    final class IoLoop implements Runnable {
+        private final Server server;
+        private final Selector selector;
+        private final Thread thread;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        private volatile boolean open = true;
+
+        IoLoop(Server server, String name) throws IOException {
+            this.server = server;
+            this.selector = Selector.open();
+            this.thread = new Thread(this, name);
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * Runs a task on the loop thread, waking the selector up if needed.
+         */
+        void execute(Runnable task) {
+            tasks.add(task);
+            if (Thread.currentThread() != thread) {
+                selector.wakeup();
+            }
+        }
+
+        private void register(Server server, SocketChannel channel) {
+            try {
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                NioConnection sc = new NioConnection(server, this, channel, key);
+                key.attach(sc);
+                server.onConnected(sc);
+            } catch (IOException e) {
+                e.printStackTrace();
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            while (open) {
+                try {
+                    selector.select();
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        handle(key);
+                    }
+                    // Last, so the flushes queued while handling the keys go out before the loop sleeps
+                    Runnable task;
+                    while ((task = tasks.poll()) != null) {
+                        task.run();
+                    }
+                } catch (ClosedSelectorException e) {
+                    return;
+                } catch (IOException | RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        private void handle(SelectionKey key) throws IOException {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                accept(server);
+                return;
+            }
+            NioConnection sc = (NioConnection) key.attachment();
+            try {
+                if (key.isReadable()) {
+                    sc.read(readBuffer);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    sc.flush();
+                }
+            } catch (IOException e) {
+                System.out.println("Server exception: " + e.getMessage());
+                server.Disconnect(sc);
+            }
+        }
+
+        private void close() {
+            open = false;
+            try {
+                selector.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
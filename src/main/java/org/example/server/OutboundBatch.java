@@ -0,0 +1,124 @@
+package org.example.server;
+
+import org.example.message.BatchMessage;
+import org.example.message.Message;
+import org.example.message.MessageType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gathers the messages a thread sends while it runs one command, and sends each connection everything
+ * meant for it as one frame once the command is done: a single message as it is, several as a {@link BatchMessage}.
+ * A bot turn that reports the move, the new state and the next turn then costs each client one write and one flush.
+ * Connections sent the same messages share one encoded frame, as with any other broadcast.
+ * Messages are only encoded once the command is done, so a full game state shows the state at its end,
+ * and the game state updates a connection is sent after a full state are left out, as it already holds them.
+ * Chat is not batched with game state alone, as a full {@link OutboundQueue} would coalesce it away with the state.
+ */
+final class OutboundBatch
+{
+    private static final ThreadLocal<OutboundBatch> current = new ThreadLocal<>();
+
+    // The messages for each connection, in the order they were sent
+    private final Map<ServerConnection, List<Message>> messages = new LinkedHashMap<>();
+
+    private OutboundBatch() {}
+
+    /**
+     * Runs a command, sending what it sends once it is done, even if it throws.
+     * Commands run from within another command join its batch.
+     *
+     * @param server the server to send the batch with
+     * @param command the command to run
+     */
+    static void run(final Server server, final Runnable command)
+    {
+        if (current.get() != null) {
+            command.run();
+            return;
+        }
+        OutboundBatch batch = new OutboundBatch();
+        current.set(batch);
+        try {
+            command.run();
+        } finally {
+            current.remove();
+            batch.send(server);
+        }
+    }
+
+    /**
+     * @return the batch of the command running on this thread, or null if it is not running one
+     */
+    static OutboundBatch current()
+    {
+        return current.get();
+    }
+
+    void add(final Message message, final ServerConnection sc)
+    {
+        List<Message> sent = messages.computeIfAbsent(sc, key -> new ArrayList<>());
+        if (message.getType() == MessageType.GAMESTATE_DELTA
+                && sent.stream().anyMatch(queued -> queued.getType() == MessageType.GAMESTATE)) {
+            return;
+        }
+        sent.add(message);
+    }
+
+    private void send(final Server server)
+    {
+        // Messages do not override equals, so only connections sent the very same messages share a group
+        Map<List<Message>, List<ServerConnection>> groups = new LinkedHashMap<>();
+        messages.forEach((sc, sent) -> groups.computeIfAbsent(sent, key -> new ArrayList<>()).add(sc));
+        groups.forEach((sent, recipients) -> {
+            for (List<Message> frame : frames(sent)) {
+                server.Send(frame.size() == 1 ? frame.get(0) : new BatchMessage(frame), recipients);
+            }
+        });
+    }
+
+    /**
+     * Splits the messages for a connection into the frames they are sent in, keeping their order.
+     * A frame is queued as the message in it that matters most (see {@link OutboundQueue#queuedType}),
+     * so chat would be coalesced away with a frame holding nothing else but game state; such messages
+     * are sent as runs of chat and runs of game state instead.
+     *
+     * @param sent the messages for a connection
+     * @return the messages of each frame
+     */
+    private static List<List<Message>> frames(final List<Message> sent)
+    {
+        boolean chat = false;
+        boolean state = false;
+        for (Message message : sent) {
+            switch (message.getType()) {
+                case STRING:
+                    chat = true;
+                    break;
+                case GAMESTATE:
+                case GAMESTATE_DELTA:
+                    state = true;
+                    break;
+                default:
+                    return List.of(sent);
+            }
+        }
+        if (!chat || !state) {
+            return List.of(sent);
+        }
+        List<List<Message>> frames = new ArrayList<>();
+        List<Message> frame = new ArrayList<>();
+        for (Message message : sent) {
+            if (!frame.isEmpty() && (frame.get(0).getType() == MessageType.STRING) != (message.getType() == MessageType.STRING)) {
+                frames.add(frame);
+                frame = new ArrayList<>();
+            }
+            frame.add(message);
+        }
+        frames.add(frame);
+        return frames;
+    }
+}
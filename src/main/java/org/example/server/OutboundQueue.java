@@ -0,0 +1,242 @@
+package org.example.server;
+
+import org.example.Config;
+import org.example.message.BatchMessage;
+import org.example.message.Message;
+import org.example.message.MessageType;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The frames waiting to be written to one connection, bounded so a client that stops reading
+ * cannot make the server buffer without limit or block the threads sending to it.
+ * What happens to a frame arriving at a full queue depends on the {@link OverflowPolicy} of its message type.
+ * The queue also counts how deep it got and what it had to give up, for monitoring slow clients.
+ */
+final class OutboundQueue
+{
+    /**
+     * What {@link #offer} did with a frame
+     */
+    enum Result
+    {
+        QUEUED,   // the frame waits to be written
+        DROPPED,  // the frame was dropped, nothing else changed
+        RESYNC,   // game state updates were dropped, so the client needs a full game state
+        REJECTED, // the client is too far behind and should be disconnected
+        CLOSED    // the connection is closed
+    }
+
+    private final int capacity;
+    private final Map<MessageType, OverflowPolicy> policies;
+
+    // Guards every field below; offered from any thread, polled by the writer of the connection
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Entry> frames = new ArrayDeque<>();
+    private boolean closed;
+    private int highWater;
+    private long dropped;
+
+    /**
+     * Creates a queue holding {@link Config#OUTBOUND_QUEUE_FRAMES} frames with the default policies
+     */
+    OutboundQueue()
+    {
+        this(Config.OUTBOUND_QUEUE_FRAMES, defaultPolicies());
+    }
+
+    /**
+     * @param capacity how many frames the queue holds
+     * @param policies what to do with each message type when the queue is full; types not in the map disconnect
+     */
+    OutboundQueue(final int capacity, final Map<MessageType, OverflowPolicy> policies)
+    {
+        this.capacity = capacity;
+        this.policies = new EnumMap<>(policies);
+    }
+
+    /**
+     * Game state updates are coalesced and chat is dropped; with {@link Config#DISCONNECT_SLOW_CONSUMERS}
+     * every overflow disconnects instead.
+     */
+    static Map<MessageType, OverflowPolicy> defaultPolicies()
+    {
+        Map<MessageType, OverflowPolicy> policies = new EnumMap<>(MessageType.class);
+        if (!Config.DISCONNECT_SLOW_CONSUMERS) {
+            policies.put(MessageType.GAMESTATE, OverflowPolicy.COALESCE);
+            policies.put(MessageType.GAMESTATE_DELTA, OverflowPolicy.COALESCE);
+            policies.put(MessageType.STRING, OverflowPolicy.DROP);
+        }
+        return policies;
+    }
+
+    /**
+     * The type a message is queued as, which decides what may happen to it in a full queue.
+     * A batch is queued as the message in it that matters most: anything that may not be dropped,
+     * else a full game state, else a game state update, else chat.
+     *
+     * @param message the message
+     * @return the type of the message, or the type a batch stands for
+     */
+    static MessageType queuedType(final Message message)
+    {
+        if (message.getType() != MessageType.BATCH) {
+            return message.getType();
+        }
+        MessageType type = MessageType.STRING;
+        for (Message batched : ((BatchMessage) message).getMessages()) {
+            switch (batched.getType()) {
+                case STRING:
+                    break;
+                case GAMESTATE:
+                    type = MessageType.GAMESTATE;
+                    break;
+                case GAMESTATE_DELTA:
+                    if (type == MessageType.STRING) {
+                        type = MessageType.GAMESTATE_DELTA;
+                    }
+                    break;
+                default:
+                    return batched.getType();
+            }
+        }
+        return type;
+    }
+
+    /**
+     * Adds a frame to the queue, or applies the policy of its type if the queue is full.
+     * A full game state supersedes every game state update still queued.
+     * An update cannot be merged into the ones before it, so they are all dropped
+     * and the caller asks for a full game state for the client instead.
+     *
+     * @param type the type the frame is queued as
+     * @param frame the frame, never modified
+     * @return what was done with the frame
+     */
+    Result offer(final MessageType type, final byte[] frame)
+    {
+        lock.lock();
+        try {
+            if (closed) {
+                return Result.CLOSED;
+            }
+            if (frames.size() < capacity) {
+                add(type, frame);
+                return Result.QUEUED;
+            }
+            switch (policies.getOrDefault(type, OverflowPolicy.DISCONNECT)) {
+                case COALESCE:
+                    removeStateUpdates();
+                    if (type == MessageType.GAMESTATE && frames.size() < capacity) {
+                        add(type, frame);
+                        return Result.QUEUED;
+                    }
+                    dropped++;
+                    return type == MessageType.GAMESTATE ? Result.REJECTED : Result.RESYNC;
+                case DROP:
+                    dropped++;
+                    return Result.DROPPED;
+                default:
+                    return Result.REJECTED;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the oldest frame, or null if the queue is empty
+     */
+    byte[] poll()
+    {
+        lock.lock();
+        try {
+            Entry entry = frames.poll();
+            return entry == null ? null : entry.frame;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEmpty()
+    {
+        return size() == 0;
+    }
+
+    /**
+     * Drops every queued frame and rejects the frames offered from now on
+     */
+    void close()
+    {
+        lock.lock();
+        try {
+            closed = true;
+            frames.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return how many frames wait to be written
+     */
+    int size()
+    {
+        lock.lock();
+        try {
+            return frames.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the most frames that ever waited at once
+     */
+    int getHighWater()
+    {
+        lock.lock();
+        try {
+            return highWater;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return how many frames were dropped or coalesced away because the queue was full
+     */
+    long getDropped()
+    {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(final MessageType type, final byte[] frame)
+    {
+        frames.add(new Entry(type, frame));
+        highWater = Math.max(highWater, frames.size());
+    }
+
+    private void removeStateUpdates()
+    {
+        Iterator<Entry> it = frames.iterator();
+        while (it.hasNext()) {
+            MessageType type = it.next().type;
+            if (type == MessageType.GAMESTATE || type == MessageType.GAMESTATE_DELTA) {
+                it.remove();
+                dropped++;
+            }
+        }
+    }
+
+    private record Entry(MessageType type, byte[] frame) {}
+}
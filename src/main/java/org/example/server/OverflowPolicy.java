@@ -0,0 +1,22 @@
+package org.example.server;
+
+/**
+ * What a connection does with a message it cannot queue because its client is not reading fast enough
+ */
+public enum OverflowPolicy
+{
+    /**
+     * Replace the queued game state updates by one full game state
+     */
+    COALESCE,
+
+    /**
+     * Drop the message; for messages the game does not depend on, like chat
+     */
+    DROP,
+
+    /**
+     * Disconnect the client
+     */
+    DISCONNECT
+}
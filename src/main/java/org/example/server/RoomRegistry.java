@@ -0,0 +1,131 @@
+package org.example.server;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Keeps track of the rooms hosted by the server and of the room every connection has joined.
+ * Each room is played by its own {@link GameManager}, with its own lobby, ruleset and board.
+ * Rooms are created when the first user joins them and closed when the last one leaves.
+ * The registry is safe to use from any thread; changes to a game are posted to the room's mailbox.
+ */
+public final class RoomRegistry {
+
+    /**
+     * The room users join when they do not ask for a specific one.
+     */
+    public static final String DEFAULT_ROOM = "main";
+
+    private final Map<String, Room> rooms = new ConcurrentHashMap<>();
+    private final Map<ServerConnection, Room> roomByConnection = new ConcurrentHashMap<>();
+
+    // Creates and sets up the game manager of a new room from its ID
+    private final Function<String, GameManager> roomFactory;
+
+    /**
+     * Creates an empty registry.
+     *
+     * @param roomFactory creates the game manager of a new room from its ID
+     */
+    public RoomRegistry(Function<String, GameManager> roomFactory) {
+        this.roomFactory = roomFactory;
+    }
+
+    /**
+     * Moves a connection into a room, creating the room if needed.
+     * A connection is in at most one room, so it leaves the room it was in before.
+     *
+     * @param roomId the ID of the room to join, or null or blank for the {@link #DEFAULT_ROOM}
+     * @param sc the connection joining
+     * @return the game manager of the room
+     */
+    public GameManager join(String roomId, ServerConnection sc) {
+        String id = roomId == null || roomId.isBlank() ? DEFAULT_ROOM : roomId.trim();
+        Room current = roomByConnection.get(sc);
+        if (current != null && current.gameManager.getRoomId().equals(id)) {
+            return current.gameManager;
+        }
+        leave(sc);
+        Room room = rooms.compute(id, (key, existing) -> {
+            Room joined = existing != null ? existing : new Room(roomFactory.apply(key));
+            joined.members.add(sc);
+            return joined;
+        });
+        roomByConnection.put(sc, room);
+        return room.gameManager;
+    }
+
+    /**
+     * Removes a connection from its room and tells the remaining users.
+     * The room is closed if nobody is left in it.
+     *
+     * @param sc the connection leaving
+     * @return the game manager of the room the connection was in, or null if it was in none
+     */
+    public GameManager leave(ServerConnection sc) {
+        Room room = roomByConnection.remove(sc);
+        if (room == null) {
+            return null;
+        }
+        boolean[] closed = new boolean[1];
+        rooms.computeIfPresent(room.gameManager.getRoomId(), (key, existing) -> {
+            if (existing != room) {
+                return existing;
+            }
+            room.members.remove(sc);
+            closed[0] = room.members.isEmpty();
+            return closed[0] ? null : room;
+        });
+        GameManager gameManager = room.gameManager;
+        gameManager.execute(() -> {
+            gameManager.removeUser(sc);
+            if (closed[0]) {
+                gameManager.close();
+            } else {
+                gameManager.synchronizeUsers();
+            }
+        });
+        return gameManager;
+    }
+
+    /**
+     * Returns the game manager of the room a connection has joined.
+     *
+     * @param sc the connection
+     * @return the game manager, or null if the connection has not joined a room
+     */
+    public GameManager getRoom(ServerConnection sc) {
+        Room room = roomByConnection.get(sc);
+        return room == null ? null : room.gameManager;
+    }
+
+    /**
+     * Returns the game manager of a room.
+     *
+     * @param roomId the ID of the room
+     * @return the game manager, or null if there is no such room
+     */
+    public GameManager getRoomById(String roomId) {
+        Room room = rooms.get(roomId);
+        return room == null ? null : room.gameManager;
+    }
+
+    public Collection<GameManager> getRooms() {
+        return rooms.values().stream().map(room -> room.gameManager).toList();
+    }
+
+    /**
+     * A game manager and the connections that joined its room.
+     */
+    private static final class Room {
+        final GameManager gameManager;
+        final Set<ServerConnection> members = ConcurrentHashMap.newKeySet();
+
+        Room(GameManager gameManager) {
+            this.gameManager = gameManager;
+        }
+    }
+}
@@ -2,12 +2,11 @@ package org.example.server;
 
 import org.example.message.*;
 
+import org.example.Config;
+
 import java.io.IOException;
-import java.net.ServerSocket;
-import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 //TODO:
 // Implement logging rather than println and printStackTrace
@@ -15,26 +14,36 @@ public final class Server {
 
     private static Server instance;
 
-    private final List<MessageHandler> messageHandlers = new ArrayList<>();
+    private final MessageDispatcher dispatcher = new MessageDispatcher();
 
-    private Thread listenerThread;
-    private ServerSocket serverSocket;
+    // Moves the frames between the sockets and the server
+    private final Transport transport;
 
-    private final Queue<MessageSenderPair> messageQueue = new LinkedList<>();
-    private final List<ServerConnection> connections = new ArrayList<>();
+    // Changed by the listener and the connection threads, so no lock is needed to walk it
+    private final List<ServerConnection> connections = new CopyOnWriteArrayList<>();
 
     public ServerCallbacksHandler serverCallbacksHandler = new ServerCallbacksHandler();
 
-    private boolean running = false;
+    private volatile boolean running = false;
 
-    private Server()
+    private Server(final Transport transport)
     {
-
+        this.transport = transport;
     }
 
+    /**
+     * Creates the server with the transport chosen by {@link Config#NIO_TRANSPORT} and {@link Config#VIRTUAL_THREADS}
+     */
     public static Server create()
     {
-        instance = new Server();
+        return create(Config.NIO_TRANSPORT
+                ? new NioTransport(Config.IO_THREADS)
+                : new BlockingTransport(Config.VIRTUAL_THREADS));
+    }
+
+    static Server create(final Transport transport)
+    {
+        instance = new Server(transport);
 
         return instance;
     }
@@ -48,7 +57,7 @@ public final class Server {
     {
         System.out.println("Binding at port " + port);
         try {
-            serverSocket = new ServerSocket(port);
+            transport.bind(port);
 
             System.out.println("Server bound");
 
@@ -60,38 +69,39 @@ public final class Server {
 
     public void Listen()
     {
-        if(serverSocket == null || !serverSocket.isBound())
+        if(!running)
             return;
 
-        listenerThread = new Thread(() -> {
-            while(running)
-            {
-                try {
-                    ServerConnection sc = new ServerConnection(serverSocket.accept());
-                    connections.add(sc);
-                    serverCallbacksHandler.onNewConnection(sc);
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-        });
-        listenerThread.start();
+        transport.listen(this);
+    }
+
+    /**
+     * Registers a connection accepted by the transport
+     */
+    void onConnected(final ServerConnection sc)
+    {
+        connections.add(sc);
+        serverCallbacksHandler.onNewConnection(sc);
     }
 
+    /**
+     * Closes the connection; only the first call for a connection reports it closed
+     */
     public void Disconnect(ServerConnection sc)
     {
         try {
-            sc.getSocket().close();
+            sc.close();
         } catch (IOException e) {
             e.printStackTrace();
         }
-        connections.remove(sc);
-        serverCallbacksHandler.onConnectionClosed(sc);
+        if(connections.remove(sc))
+            serverCallbacksHandler.onConnectionClosed(sc);
     }
 
     public void Shutdown()
     {
         running = false;
+        transport.close();
         for(ServerConnection sc : connections)
         {
             Disconnect(sc);
@@ -99,18 +109,29 @@ public final class Server {
     }
 
     public List<MessageHandler> getMessageHandlersOfType(final MessageType type) {
-        List<MessageHandler> handlers = new ArrayList<>();
-        for (MessageHandler messageHandler : messageHandlers) {
-            if(messageHandler.getMessageType() == type) {
-                handlers.add(messageHandler);
-            }
-        }
+        return List.of(dispatcher.handlersOf(type));
+    }
 
-        return handlers;
+    /**
+     * @param type the message type
+     * @return how long handling the received messages of the type took on the threads receiving them
+     */
+    public LatencyHistogram getDispatchLatency(final MessageType type) {
+        return dispatcher.getLatency(type);
     }
 
+    /**
+     * Sends a message to a connection.
+     * While a room runs a command, the message joins the {@link OutboundBatch} of the command instead.
+     */
     public void Send(final Message message, final ServerConnection sc)
     {
+        OutboundBatch batch = OutboundBatch.current();
+        if(batch != null)
+        {
+            batch.add(message, sc);
+            return;
+        }
         try {
             sc.send(message);
             serverCallbacksHandler.onMessageSent(sc, message);
@@ -119,11 +140,33 @@ public final class Server {
         }
     }
 
+    /**
+     * Sends a message to many connections, encoding it only once for each codec in use.
+     * Every recipient is handed the same frame, which transports never modify.
+     * While a room runs a command, the message joins the {@link OutboundBatch} of the command instead.
+     */
     public void Send(final Message message, final List<ServerConnection> recipients)
     {
+        OutboundBatch batch = OutboundBatch.current();
+        if(batch != null)
+        {
+            for(ServerConnection sc : recipients)
+                batch.add(message, sc);
+            return;
+        }
+        MessageType type = OutboundQueue.queuedType(message);
+        byte[][] frames = new byte[MessageCodec.values().length][];
         for(ServerConnection sc : recipients)
         {
-            Send(message, sc);
+            MessageCodec codec = sc.getCodec();
+            try {
+                if(frames[codec.ordinal()] == null)
+                    frames[codec.ordinal()] = MessageFrames.encode(message, codec);
+                sc.sendFrame(type, frames[codec.ordinal()]);
+                serverCallbacksHandler.onMessageSent(sc, message);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
         }
     }
 
@@ -134,30 +177,59 @@ public final class Server {
 
     public void AddHandler(final MessageHandler handler)
     {
-        messageHandlers.add(handler);
+        dispatcher.add(handler);
     }
 
-    public void HandleMessages()
+    /**
+     * Passes a message to its handlers on the thread of the connection that received it.
+     * Handlers acting on a game post their work to the game's room, so connections never
+     * share a lock and messages of one connection are handled in the order they arrived.
+     */
+    public void HandleMessage(final Message message, final ServerConnection sc)
     {
-        while(!messageQueue.isEmpty())
+        serverCallbacksHandler.onMessageReceived(sc, message);
+        if(message.getType() == MessageType.CODEC)
         {
-            MessageSenderPair messageSenderPair = messageQueue.poll();
-
-            for(MessageHandler messageHandler : getMessageHandlersOfType(messageSenderPair.getMessageType()))
-            {
-                messageHandler.handle(messageSenderPair);
-            }
+            negotiateCodec((CodecMessage) message, sc);
+            return;
         }
+        dispatch(new MessageSenderPair(message, sc));
+    }
+
+    /**
+     * Asks for a full game state for the connection, as its client does when it notices it missed an update.
+     * Used when the outbound queue of a slow client had to drop updates.
+     */
+    void requestGameState(final ServerConnection sc)
+    {
+        dispatch(new MessageSenderPair(new CommandMessage(Commands.SYNC_STATE, new String[0]), sc));
+    }
+
+    private void dispatch(final MessageSenderPair messageSenderPair)
+    {
+        dispatcher.dispatch(messageSenderPair);
+    }
+
+    /**
+     * Answers the codec offer of a client. The answer still goes out with the old codec, and
+     * only the messages sent after it use the binary one; the client decodes both either way.
+     */
+    private void negotiateCodec(final CodecMessage offer, final ServerConnection sc)
+    {
+        boolean binary = Config.BINARY_PROTOCOL && offer.getBinaryVersion() == MessageCodec.BINARY_VERSION;
+        Send(new CodecMessage(binary ? MessageCodec.BINARY_VERSION : 0), sc);
+        sc.setCodec(binary ? MessageCodec.BINARY : MessageCodec.SERIALIZATION);
     }
 
     public List<ServerConnection> getConnections() {
         return connections;
     }
 
-    public void AddMessageToQueue(final Message message, final ServerConnection sc)
-    {
-        messageQueue.add(new MessageSenderPair(message, sc));
-        serverCallbacksHandler.onMessageReceived(sc, message);
+    /**
+     * @return the port the server listens on, or -1 if it is not bound
+     */
+    public int getPort() {
+        return transport.getPort();
     }
 
     public boolean isRunning() {
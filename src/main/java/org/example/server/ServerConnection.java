@@ -1,102 +1,117 @@
 package org.example.server;
 
 import org.example.message.Message;
+import org.example.message.MessageCodec;
+import org.example.message.MessageFrames;
 import org.example.message.MessageType;
 
-import java.io.*;
-import java.net.Socket;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
 
 /**
- * ConnectionThread class used to handle the connection with client on the server
- * and send/receive messages
+ * A connection with a client on the server, used to send messages to it.
+ * How messages are read and written depends on the transport the server was created with,
+ * but both sides always exchange {@link org.example.message.MessageFrames frames}.
+ * Connections are compared by identity and used as keys throughout the server.
+ * Sending only queues the frame in a bounded {@link OutboundQueue}; the writer of the connection drains it,
+ * so a slow client never blocks the thread sending to it.
  */
-public class ServerConnection implements Runnable
+public abstract class ServerConnection
 {
-    private final Socket socket; // the socket used to connect to the client
-    private final Server server; // the server that created this connection
+    protected final Server server; // the server that accepted this connection
 
-    // the output and input streams used to send and receive messages
-    private ObjectOutputStream oos;
-    private ObjectInputStream ois;
+    // the codec messages are sent with, switched to binary once the client has asked for it
+    protected volatile MessageCodec codec = MessageCodec.SERIALIZATION;
 
-    // the thread used to listen for messages from the client
-    private Thread listenerThread;
+    // the frames waiting for the writer
+    final OutboundQueue outbound = new OutboundQueue();
 
-    /**
-     * Constructor for the ConnectionThread class
-     * Sets the values, creates the output and input streams and starts the listener thread
-     * @param socket the socket used to connect to the client
-     */
-    ServerConnection(final Socket socket)
+    ServerConnection(final Server server)
     {
-        this.socket = socket;
-        this.server = Server.getServer();
+        this.server = server;
+    }
 
-        try
-        {
-            ois = new ObjectInputStream(socket.getInputStream());
-            oos = new ObjectOutputStream(socket.getOutputStream());
+    public MessageCodec getCodec()
+    {
+        return codec;
+    }
 
-            listenerThread = new Thread(this);
-            listenerThread.start();
-        }
-        catch (Exception e)
-        {
-            e.printStackTrace();
-        }
+    void setCodec(final MessageCodec codec)
+    {
+        this.codec = codec;
     }
 
     /**
      * Sends a message to the client
+     * Rooms may send from their own threads, so this is safe to call from any thread
      * @param message the message to send
      * @see Message
      */
     public <T extends Message> void send(final T message) throws IOException
     {
-        oos.writeObject(message);
-        oos.flush();
+        sendFrame(OutboundQueue.queuedType(message), MessageFrames.encode(message, codec));
     }
 
     /**
-     * Reads a message from the client
-     * @return the message read
-     * @see Message
+     * Queues a frame already encoded with the codec of this connection.
+     * The same frame may be handed to many connections, so the writers never modify it.
+     * Frames sent from one thread reach the client in the order they were sent, unless the queue was full
+     * and its {@link OverflowPolicy} dropped some of them.
+     * @param type the type the frame is queued as, see {@link OutboundQueue#queuedType}
+     * @param frame the frame, length prefix included
      */
-    @SuppressWarnings("unchecked")
-    public <T extends Message> T read() throws ClassNotFoundException, IOException
+    final void sendFrame(final MessageType type, final byte[] frame) throws IOException
     {
-        return (T) ois.readObject();
+        switch (outbound.offer(type, frame)) {
+            case QUEUED:
+                scheduleWrite();
+                break;
+            case RESYNC:
+                scheduleWrite();
+                server.requestGameState(this);
+                break;
+            case DROPPED:
+                break;
+            case REJECTED:
+                System.out.println("Disconnecting a client that stopped reading, " + outbound.size() + " frames behind");
+                server.Disconnect(this);
+                break;
+            case CLOSED:
+                throw new ClosedChannelException();
+        }
     }
 
     /**
-     * The listener thread that listens for messages from the client
+     * Makes sure the writer of the connection runs soon to write the queued frames
      */
-    @Override
-    public void run() {
-        try {
-            Message msg;
-            do {
-                msg = read();
+    abstract void scheduleWrite();
 
-                synchronized(server)
-                {
-                    server.AddMessageToQueue(msg, this);
-                }
-            } while (server.isRunning() && !msg.getType().equals(MessageType.DISCONNECT));
-
-            socket.close();
-        } catch (IOException ex) {
-            System.out.println("Server exception: " + ex.getMessage());
-        }
-        catch (ClassNotFoundException e)
-        {
-            e.printStackTrace();
-        }
+    /**
+     * @return how many frames wait to be written to the client
+     */
+    public int getQueuedFrames()
+    {
+        return outbound.size();
+    }
 
-        server.Disconnect(this);
+    /**
+     * @return the most frames that ever waited to be written to the client at once
+     */
+    public int getQueuedFramesHighWater()
+    {
+        return outbound.getHighWater();
     }
 
-    Socket getSocket() {
-        return socket;
+    /**
+     * @return how many frames were dropped because the client did not read them fast enough
+     */
+    public long getDroppedFrames()
+    {
+        return outbound.getDropped();
     }
+
+    /**
+     * Closes the connection. Closing it twice does nothing.
+     */
+    abstract void close() throws IOException;
 }
@@ -0,0 +1,106 @@
+package org.example.server;
+
+import org.example.message.Message;
+import org.example.message.MessageFrames;
+import org.example.message.MessageType;
+
+import java.io.*;
+import java.net.Socket;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Connection of the blocking transport: a thread per socket blocks on reading the next frame,
+ * and a writer task borrowed from the transport's writer threads drains the outbound queue while it has frames
+ */
+final class StreamConnection extends ServerConnection implements Runnable
+{
+    private final Socket socket; // the socket used to connect to the client
+
+    // the output and input streams used to send and receive messages
+    private final DataOutputStream out;
+    private final DataInputStream in;
+
+    // Runs the writer, and whether it is already running or about to, so only one writes to the stream at a time
+    private final Executor writers;
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+
+    /**
+     * Creates the streams of the connection; the caller starts the thread reading from it
+     * @param server the server that accepted the connection
+     * @param socket the socket used to connect to the client
+     * @param writers the executor running the writer of the connection
+     */
+    StreamConnection(final Server server, final Socket socket, final Executor writers) throws IOException
+    {
+        super(server);
+        this.socket = socket;
+        this.writers = writers;
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    }
+
+    /**
+     * Starts the writer unless it is already running
+     */
+    @Override
+    void scheduleWrite()
+    {
+        if (writeScheduled.compareAndSet(false, true)) {
+            try {
+                writers.execute(this::write);
+            } catch (RejectedExecutionException e) {
+                // the transport is closing, and the connection with it
+                writeScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Writes the queued frames to the socket, flushing once the queue is empty
+     */
+    private void write()
+    {
+        try {
+            do {
+                byte[] frame;
+                while ((frame = outbound.poll()) != null) {
+                    out.write(frame);
+                }
+                out.flush();
+                // Cleared before looking again, so a frame queued meanwhile is written by this writer or the next
+                writeScheduled.set(false);
+            } while (!outbound.isEmpty() && writeScheduled.compareAndSet(false, true));
+        } catch (IOException e) {
+            System.out.println("Server exception: " + e.getMessage());
+            server.Disconnect(this);
+        }
+    }
+
+    @Override
+    void close() throws IOException
+    {
+        outbound.close();
+        socket.close();
+    }
+
+    /**
+     * The listener thread that listens for messages from the client
+     */
+    @Override
+    public void run() {
+        try {
+            Message msg;
+            do {
+                msg = MessageFrames.read(in);
+
+                server.HandleMessage(msg, this);
+            } while (server.isRunning() && !msg.getType().equals(MessageType.DISCONNECT));
+        } catch (IOException ex) {
+            System.out.println("Server exception: " + ex.getMessage());
+        }
+
+        server.Disconnect(this);
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.server;
+
+import java.io.IOException;
+
+/**
+ * Accepts the connections of a {@link Server} and moves frames between the sockets and the server.
+ */
+interface Transport {
+
+    /**
+     * Binds the listening socket.
+     *
+     * @param port the port to listen on, 0 for any free port
+     */
+    void bind(int port) throws IOException;
+
+    /**
+     * Returns the port the transport is bound to.
+     *
+     * @return the local port, or -1 if not bound
+     */
+    int getPort();
+
+    /**
+     * Starts accepting connections, handing them to the server.
+     *
+     * @param server the server owning the connections
+     */
+    void listen(Server server);
+
+    /**
+     * Stops accepting connections and stops the threads of the transport.
+     * Open connections are closed by the server.
+     */
+    void close();
+}
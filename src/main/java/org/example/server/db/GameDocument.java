@@ -3,11 +3,14 @@ package org.example.server.db;
 import org.example.game_logic.BoardType;
 import org.example.game_logic.RulesType;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Document(collection = "games")
 public class GameDocument {
@@ -16,11 +19,21 @@ public class GameDocument {
     private String id; // MongoDB używa Stringa jako identyfikatora
     private LocalDateTime startTime;
     private String name;
+    // Name looked up by, unique across games; only stored for named games, so the index skips the rest
+    @Indexed(unique = true, sparse = true)
+    private String normalizedName;
     private int playersCount;
     private BoardType boardType;
     private RulesType rulesType;
     private int currentTurn;
+    // Seed the starting layout was drawn from, see Rules#setLayoutSeed; null for games saved before it was stored
+    private Long layoutSeed;
+    // The moves as stored, see PackedMoves; GameService unpacks them into moves when it loads the game
+    private int[] packedMoves = new int[0];
+    @Transient
     private List<Move> moves = new ArrayList<>();
+    // The latest position saved along the moves, or null if the game has none yet
+    private PositionSnapshot snapshot;
 
     // Gettery i settery
 
@@ -43,9 +56,24 @@ public class GameDocument {
 
     public String setName(String name) {
         this.name = name;
+        this.normalizedName = normalizeName(name);
         return name;
     }
 
+    public String getNormalizedName() {
+        return normalizedName;
+    }
+
+    /**
+     * Normalizes a game name so names differing only in case are the same.
+     *
+     * @param name the name, may be null
+     * @return the normalized name, null for a null name
+     */
+    public static String normalizeName(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
     public int getPlayersCount() {
         return playersCount;
     }
@@ -73,10 +101,37 @@ public class GameDocument {
         return rulesType;
     }
 
+    /**
+     * @return the moves of the game as coordinates, filled in by {@link GameService} when it loads the game
+     */
     public List<Move> getMoves() {
         return moves;
     }
 
+    public Long getLayoutSeed() {
+        return layoutSeed;
+    }
+
+    public void setLayoutSeed(Long layoutSeed) {
+        this.layoutSeed = layoutSeed;
+    }
+
+    public PositionSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(PositionSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public int[] getPackedMoves() {
+        return packedMoves;
+    }
+
+    public void setPackedMoves(int[] packedMoves) {
+        this.packedMoves = packedMoves;
+    }
+
     public int getCurrentTurn() {
         return currentTurn;
     }
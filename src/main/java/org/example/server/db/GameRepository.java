@@ -1,6 +1,22 @@
 package org.example.server.db;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Optional;
+
 public interface GameRepository extends MongoRepository<GameDocument, String> {
+
+    /**
+     * Finds a game through the index on its normalized name.
+     * Names saved by older versions may collide ignoring case, and then the index is not unique;
+     * the most recently started of those games is found.
+     */
+    Optional<GameDocument> findFirstByNormalizedNameOrderByStartTimeDesc(String normalizedName);
+
+    /**
+     * Lists a page of games, reading only the fields of {@link GameSummary}.
+     */
+    Page<GameSummary> findAllBy(Pageable pageable);
 }
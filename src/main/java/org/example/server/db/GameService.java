@@ -1,17 +1,76 @@
 package org.example.server.db;
 
+import com.mongodb.client.result.UpdateResult;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.example.game_logic.BoardType;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class GameService {
 
     private final GameRepository gameRepository;
+    private final MongoOperations mongo;
 
-    public GameService(GameRepository gameRepository) {
+    public GameService(GameRepository gameRepository, MongoOperations mongo) {
         this.gameRepository = gameRepository;
+        this.mongo = mongo;
+    }
+
+    /**
+     * Brings games saved by older versions up to date, then creates the unique index on names.
+     * Spring does not create indexes on its own, so this runs once the service is ready.
+     */
+    @PostConstruct
+    public void prepareCollection() {
+        migrateMoves();
+        Query unnormalized = Query.query(Criteria.where("name").ne(null).and("normalizedName").exists(false));
+        unnormalized.fields().include("name");
+        for (Document game : mongo.find(unnormalized, Document.class, "games")) {
+            mongo.updateFirst(Query.query(Criteria.where("_id").is(game.get("_id"))),
+                    Update.update("normalizedName", GameDocument.normalizeName(game.getString("name"))), "games");
+        }
+        try {
+            mongo.indexOps(GameDocument.class).ensureIndex(new Index("normalizedName", Sort.Direction.ASC).unique().sparse());
+        } catch (DataAccessException e) {
+            System.out.println("Game names are not unique, looking them up without a unique index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Packs the moves of games that still store them as coordinate sub-documents, see {@link PackedMoves}.
+     * Games whose moves cannot be packed, because the board type is unknown or a coordinate is off the board,
+     * are left as they are and reported.
+     */
+    public void migrateMoves() {
+        Query unpacked = Query.query(Criteria.where("moves.0").exists(true));
+        unpacked.fields().include("boardType").include("moves");
+        for (LegacyMoves game : mongo.find(unpacked, LegacyMoves.class, "games")) {
+            try {
+                if (game.boardType == null) {
+                    throw new IllegalArgumentException("unknown board type");
+                }
+                int[] packed = PackedMoves.pack(game.boardType, game.moves);
+                mongo.updateFirst(Query.query(Criteria.where("_id").is(game.id)),
+                        new Update().set("packedMoves", packed).unset("moves"), "games");
+            } catch (IllegalArgumentException e) {
+                System.out.println("Moves of game " + game.id + " not packed: " + e.getMessage());
+            }
+        }
     }
 
     public GameDocument startNewGame() {
@@ -20,21 +79,174 @@ public class GameService {
         return gameRepository.save(game);
     }
 
+    /**
+     * Starts a named game, claiming its name.
+     *
+     * @param name the name of the game
+     * @return the saved game
+     * @throws org.springframework.dao.DuplicateKeyException if a game of that name, in any case, already exists
+     */
+    public GameDocument startNewGame(String name) {
+        GameDocument game = new GameDocument();
+        game.setStartTime(LocalDateTime.now());
+        game.setName(name);
+        return gameRepository.insert(game);
+    }
+
+    /**
+     * Adds a move to a saved game, appending it to the stored document rather than saving the whole game again.
+     * The board type of the game must be set.
+     */
     public void saveMove(GameDocument game, Move move) {
+        int packed = PackedMoves.pack(game.getBoardType(), List.of(move))[0];
+        int from = game.getPackedMoves().length;
+        appendMoves(game.getId(), from, new int[]{packed}, null, null);
         game.getMoves().add(move);
-        gameRepository.save(game);
+        int[] packedMoves = Arrays.copyOf(game.getPackedMoves(), from + 1);
+        packedMoves[from] = packed;
+        game.setPackedMoves(packedMoves);
     }
 
+    /**
+     * Appends moves to a saved game with a single {@code $push}, and sets its current turn and latest snapshot
+     * in the same update, so a snapshot is never stored without the moves it follows.
+     * The cost does not depend on how many moves the game already has, as the document is neither read nor rewritten.
+     * The push only applies while the game has exactly {@code from} moves, so repeating an append whose
+     * acknowledgement was lost does not store its moves twice: the moves already stored are skipped.
+     *
+     * @param gameId the ID of the game
+     * @param from how many moves the game has before these, or -1 to not check it when appending no moves
+     * @param packedMoves the moves to append, packed with {@link PackedMoves}, in the order they were made
+     * @param currentTurn the index of the agent whose turn it is, or null to leave it unchanged
+     * @param snapshot the position after the appended moves or earlier ones, or null to keep the stored one
+     * @throws IllegalArgumentException if the game does not exist
+     * @throws IllegalStateException if the stored moves do not continue into these
+     */
+    public void appendMoves(String gameId, int from, int[] packedMoves, Integer currentTurn, PositionSnapshot snapshot) {
+        Update update = new Update();
+        if (packedMoves.length > 0) {
+            update.push("packedMoves").each(Arrays.stream(packedMoves).boxed().toArray());
+        }
+        if (currentTurn != null) {
+            update.set("currentTurn", currentTurn);
+        }
+        if (snapshot != null) {
+            update.set("snapshot", snapshot);
+        }
+        if (update.getUpdateObject().isEmpty()) {
+            return;
+        }
+        Criteria criteria = Criteria.where("_id").is(gameId);
+        if (from >= 0) {
+            criteria.and("packedMoves." + from).exists(false);
+            if (from > 0) {
+                criteria.and("packedMoves." + (from - 1)).exists(true);
+            }
+        } else if (packedMoves.length > 0) {
+            throw new IllegalArgumentException("Moves appended without their position");
+        }
+        UpdateResult result = mongo.updateFirst(Query.query(criteria), update, GameDocument.class);
+        if (result.getMatchedCount() > 0) {
+            return;
+        }
+        int[] stored = storedMoves(gameId);
+        int done = stored.length - from;
+        if (from < 0 || done < 0 || done > packedMoves.length
+                || !Arrays.equals(stored, from, stored.length, packedMoves, 0, done)) {
+            throw new IllegalStateException("Game " + gameId + " has " + stored.length + " moves stored, expected " + from);
+        }
+        // An earlier attempt stored some of the moves; append the rest
+        appendMoves(gameId, stored.length, Arrays.copyOfRange(packedMoves, done, packedMoves.length), currentTurn, snapshot);
+    }
+
+    private int[] storedMoves(String gameId) {
+        Query query = Query.query(Criteria.where("_id").is(gameId));
+        query.fields().include("packedMoves");
+        GameDocument game = mongo.findOne(query, GameDocument.class);
+        if (game == null) {
+            throw new IllegalArgumentException("Game not found");
+        }
+        return game.getPackedMoves() == null ? new int[0] : game.getPackedMoves();
+    }
+
+    /**
+     * @param gameId the id of the game
+     * @return the game, its moves unpacked
+     * @throws IllegalArgumentException if no game has that id
+     * @throws IllegalStateException if the moves of the game could not be migrated, see {@link #migrateMoves}
+     */
     public GameDocument getGame(String gameId) {
-        return gameRepository.findById(gameId)
+        return gameRepository.findById(gameId).map(this::unpackMigratedMoves)
                 .orElseThrow(() -> new IllegalArgumentException("Game not found"));
     }
 
+    /**
+     * Finds a saved game by name, ignoring case, through the index on the normalized name.
+     * If older games share the name, the most recently started one is found.
+     *
+     * @param name the name of the game
+     * @return the game, or empty if no game has that name
+     * @throws IllegalStateException if the moves of the game could not be migrated, see {@link #migrateMoves}
+     */
+    public Optional<GameDocument> findGameByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return gameRepository.findFirstByNormalizedNameOrderByStartTimeDesc(GameDocument.normalizeName(name)).map(this::unpackMigratedMoves);
+    }
+
+    /**
+     * Lists saved games without their moves, the most recently started first.
+     *
+     * @param page the index of the page, from 0
+     * @param size how many games a page holds
+     * @return the page of games
+     */
+    public Page<GameSummary> listGames(int page, int size) {
+        return gameRepository.findAllBy(PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "startTime")));
+    }
+
     public List<GameDocument> getAllGames() {
-        return gameRepository.findAll();
+        List<GameDocument> games = gameRepository.findAll();
+        games.forEach(GameService::unpackMoves);
+        return games;
     }
 
+    /**
+     * Saves the whole game, its packed moves included; moves are added with {@link #appendMoves} instead.
+     */
     public void saveGame(GameDocument game) {
         gameRepository.save(game);
     }
+
+    /**
+     * Unpacks the moves of a game, refusing a game that still stores them the old way:
+     * they are not read into the document, so it would load with no moves at all.
+     */
+    private GameDocument unpackMigratedMoves(GameDocument game) {
+        if (game.getPackedMoves() == null || game.getPackedMoves().length == 0) {
+            Query unpacked = Query.query(Criteria.where("_id").is(game.getId()).and("moves.0").exists(true));
+            if (mongo.exists(unpacked, "games")) {
+                throw new IllegalStateException("Game " + game.getId() + " still stores its moves in the old format, which could not be migrated");
+            }
+        }
+        return unpackMoves(game);
+    }
+
+    private static GameDocument unpackMoves(GameDocument game) {
+        game.getMoves().clear();
+        if (game.getPackedMoves() != null && game.getPackedMoves().length > 0) {
+            game.getMoves().addAll(PackedMoves.unpack(game.getBoardType(), game.getPackedMoves()));
+        }
+        return game;
+    }
+
+    /**
+     * The fields of a game from before moves were packed, read only to migrate it.
+     */
+    static final class LegacyMoves {
+        String id;
+        BoardType boardType;
+        List<Move> moves;
+    }
 }
@@ -0,0 +1,24 @@
+package org.example.server.db;
+
+import org.example.game_logic.BoardType;
+import org.example.game_logic.RulesType;
+
+import java.time.LocalDateTime;
+
+/**
+ * The settings of a saved game without its moves, read with a projection so listing games
+ * never loads move lists.
+ */
+public interface GameSummary {
+    String getId();
+
+    String getName();
+
+    LocalDateTime getStartTime();
+
+    int getPlayersCount();
+
+    BoardType getBoardType();
+
+    RulesType getRulesType();
+}
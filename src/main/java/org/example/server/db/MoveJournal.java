@@ -0,0 +1,211 @@
+package org.example.server.db;
+
+import jakarta.annotation.PreDestroy;
+import org.example.Config;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind journal of the moves of saved games, so rooms never wait for the database.
+ * Recording a move only queues it; a writer thread appends the moves a game made within
+ * {@link Config#JOURNAL_FLUSH_MILLIS} to its document in one {@link GameService#appendMoves partial update}.
+ * A failed write is retried with a growing delay, up to {@link Config#JOURNAL_MAX_ATTEMPTS} attempts,
+ * and the moves of a game are always written in the order they were made.
+ * Every move carries its index in the game, so a retried write never stores a move twice.
+ * Once the journal gives up on a write, or the stored moves do not continue into the queued ones,
+ * it abandons the game: whatever else is queued for it is dropped, and so is everything queued later.
+ */
+@Component
+public class MoveJournal {
+
+    private final GameService gameService;
+    private final long flushMillis;
+    private final int maxAttempts;
+
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "move-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // What each game still has to write; a game is in the map exactly while a write of it is scheduled. Guarded by this
+    private final Map<String, Pending> pending = new HashMap<>();
+    // Games whose saved history has a gap, so nothing more is written to them. Guarded by this
+    private final Set<String> abandoned = new HashSet<>();
+
+    @Autowired
+    public MoveJournal(GameService gameService) {
+        this(gameService, Config.JOURNAL_FLUSH_MILLIS, Config.JOURNAL_MAX_ATTEMPTS);
+    }
+
+    MoveJournal(GameService gameService, long flushMillis, int maxAttempts) {
+        this.gameService = gameService;
+        this.flushMillis = flushMillis;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Queues a move to be appended to a saved game.
+     *
+     * @param gameId the ID of the game
+     * @param index how many moves the game has before this one
+     * @param packedMove the move, packed with {@link PackedMoves}
+     */
+    public synchronized void appendMove(String gameId, int index, int packedMove) {
+        if (abandoned.contains(gameId)) {
+            return;
+        }
+        Pending entry = pendingOf(gameId);
+        if (entry.moves.isEmpty()) {
+            entry.from = index;
+        }
+        entry.moves.add(packedMove);
+    }
+
+    /**
+     * Queues the new current turn of a saved game, written with its next moves.
+     *
+     * @param gameId the ID of the game
+     * @param currentTurn the index of the agent whose turn it is
+     */
+    public synchronized void setCurrentTurn(String gameId, int currentTurn) {
+        if (abandoned.contains(gameId)) {
+            return;
+        }
+        pendingOf(gameId).currentTurn = currentTurn;
+    }
+
+    /**
+     * Queues a snapshot of a saved game, written with its next moves and replacing the stored one.
+     * The moves it follows must have been queued before it.
+     *
+     * @param gameId the ID of the game
+     * @param snapshot the position
+     */
+    public synchronized void setSnapshot(String gameId, PositionSnapshot snapshot) {
+        if (abandoned.contains(gameId)) {
+            return;
+        }
+        pendingOf(gameId).snapshot = snapshot;
+    }
+
+    /**
+     * Checks whether the journal gave up on a game, whose saved history then ends before its last moves.
+     *
+     * @param gameId the ID of the game
+     * @return true if nothing more is written to the game
+     */
+    public synchronized boolean isAbandoned(String gameId) {
+        return abandoned.contains(gameId);
+    }
+
+    /**
+     * Writes everything still queued and stops the writer, waiting a few seconds for it.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        try {
+            writer.execute(this::writeAll);
+        } catch (RejectedExecutionException e) {
+            return;
+        }
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private Pending pendingOf(String gameId) {
+        Pending entry = pending.get(gameId);
+        if (entry == null) {
+            entry = new Pending();
+            pending.put(gameId, entry);
+            schedule(gameId, flushMillis);
+        }
+        return entry;
+    }
+
+    private void schedule(String gameId, long delayMillis) {
+        try {
+            writer.schedule(() -> write(gameId), delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            Pending dropped = pending.remove(gameId);
+            System.out.println("Move journal closed, dropping " + dropped.moves.size() + " moves of game " + gameId);
+        }
+    }
+
+    private void writeAll() {
+        List<String> gameIds;
+        synchronized (this) {
+            gameIds = new ArrayList<>(pending.keySet());
+        }
+        for (String gameId : gameIds) {
+            write(gameId);
+        }
+    }
+
+    /**
+     * Writes what a game has queued. Runs on the writer thread only, so writes of one game never overlap.
+     */
+    private void write(String gameId) {
+        Pending batch;
+        synchronized (this) {
+            batch = pending.remove(gameId);
+        }
+        if (batch == null) {
+            return;
+        }
+        try {
+            gameService.appendMoves(gameId, batch.from, batch.moves.stream().mapToInt(Integer::intValue).toArray(), batch.currentTurn, batch.snapshot);
+        } catch (RuntimeException e) {
+            retry(gameId, batch, e);
+        }
+    }
+
+    private synchronized void retry(String gameId, Pending batch, RuntimeException cause) {
+        // A missing game or a gap in its moves does not go away by trying again
+        boolean permanent = cause instanceof IllegalArgumentException || cause instanceof IllegalStateException;
+        if (permanent || ++batch.attempts >= maxAttempts) {
+            System.out.println("Giving up on game " + gameId + " with " + batch.moves.size() + " moves unsaved: " + cause.getMessage());
+            abandoned.add(gameId);
+            pending.remove(gameId);
+            return;
+        }
+        Pending newer = pending.get(gameId);
+        if (newer != null) {
+            // Moves made meanwhile are already scheduled; the failed ones go before them
+            if (!batch.moves.isEmpty()) {
+                newer.from = batch.from;
+            }
+            newer.moves.addAll(0, batch.moves);
+            newer.attempts = batch.attempts;
+            if (newer.currentTurn == null) {
+                newer.currentTurn = batch.currentTurn;
+            }
+            if (newer.snapshot == null) {
+                newer.snapshot = batch.snapshot;
+            }
+            return;
+        }
+        pending.put(gameId, batch);
+        schedule(gameId, flushMillis << batch.attempts);
+    }
+
+    private static final class Pending {
+        final List<Integer> moves = new ArrayList<>();
+        // How many moves the game has before these; -1 while there are none
+        int from = -1;
+        Integer currentTurn;
+        PositionSnapshot snapshot;
+        int attempts;
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.server.db;
+
+import org.example.game_logic.Board;
+import org.example.game_logic.BoardType;
+import org.example.game_logic.Coordinate;
+import org.example.game_logic.Node;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The stored form of moves: the {@link Node#getIndex() indices} of the start and end node, 7 bits each, in one int.
+ * A game's moves are stored as an array of these instead of two coordinate sub-documents per move.
+ * Node indices depend on the layout of the board, so converting from and to coordinates needs the board type.
+ */
+public final class PackedMoves {
+
+    private static final int INDEX_BITS = 7;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+
+    // A generated board of each type, only used to look nodes up. Guarded by the map
+    private static final Map<BoardType, Board> boards = new EnumMap<>(BoardType.class);
+
+    private PackedMoves() {}
+
+    public static int pack(int startIndex, int endIndex) {
+        return startIndex | endIndex << INDEX_BITS;
+    }
+
+    public static int pack(org.example.game_logic.Move move) {
+        return pack(move.getStart().getIndex(), move.getEnd().getIndex());
+    }
+
+    public static int startIndex(int packed) {
+        return packed & INDEX_MASK;
+    }
+
+    public static int endIndex(int packed) {
+        return packed >>> INDEX_BITS & INDEX_MASK;
+    }
+
+    /**
+     * Packs moves given by coordinates.
+     *
+     * @param boardType the type of the board the moves were made on
+     * @param moves the moves
+     * @return the packed moves
+     * @throws IllegalArgumentException if a coordinate is not on the board
+     */
+    public static int[] pack(BoardType boardType, List<Move> moves) {
+        Board board = boardOf(boardType);
+        int[] packed = new int[moves.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = pack(indexOf(board, moves.get(i).getStartPosition()), indexOf(board, moves.get(i).getEndPosition()));
+        }
+        return packed;
+    }
+
+    /**
+     * Unpacks moves into coordinates.
+     *
+     * @param boardType the type of the board the moves were made on
+     * @param packed the packed moves
+     * @return the moves
+     */
+    public static List<Move> unpack(BoardType boardType, int[] packed) {
+        Board board = boardOf(boardType);
+        List<Move> moves = new ArrayList<>(packed.length);
+        for (int move : packed) {
+            moves.add(new Move(board.getNode(startIndex(move)).getCoordinate(), board.getNode(endIndex(move)).getCoordinate()));
+        }
+        return moves;
+    }
+
+    private static int indexOf(Board board, Coordinate coordinate) {
+        Node node = board.getNode(coordinate);
+        if (node == null) {
+            throw new IllegalArgumentException("No node at " + coordinate);
+        }
+        return node.getIndex();
+    }
+
+    private static Board boardOf(BoardType boardType) {
+        synchronized (boards) {
+            return boards.computeIfAbsent(boardType, type -> {
+                Board board = type.createBoard();
+                board.generateBoard();
+                return board;
+            });
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.server.db;
+
+import org.example.game_logic.Agent;
+import org.example.game_logic.Board;
+import org.example.game_logic.Pawn;
+
+import java.util.List;
+
+/**
+ * The position of a saved game after a number of its moves: who owns the pawn on each node, whether it is locked
+ * in its finish base, and whose turn it is. Resuming a game restores its latest snapshot and replays only the moves
+ * made after it, so resuming takes the same time however long the game has run.
+ */
+public class PositionSnapshot {
+
+    private static final int LOCKED_BIT = 1 << 7;
+
+    private int moveCount;
+    private int currentTurn;
+    // One byte per node by index: 0 if empty, else the owner's ID + 1, with LOCKED_BIT set for a locked pawn
+    private byte[] cells;
+
+    public PositionSnapshot() {
+    }
+
+    public PositionSnapshot(int moveCount, int currentTurn, byte[] cells) {
+        this.moveCount = moveCount;
+        this.currentTurn = currentTurn;
+        this.cells = cells;
+    }
+
+    /**
+     * Takes a snapshot of a board.
+     *
+     * @param board the board
+     * @param moveCount how many moves of the game led to the position
+     * @param currentTurn the index of the agent whose turn it is
+     * @return the snapshot
+     */
+    public static PositionSnapshot of(Board board, int moveCount, int currentTurn) {
+        byte[] cells = new byte[board.getNodeCount()];
+        for (int i = 0; i < cells.length; i++) {
+            Pawn pawn = board.getPawn(board.getNode(i));
+            if (pawn != null) {
+                cells[i] = (byte) (pawn.getOwner().getId() + 1 | (pawn.isBaseLocked() ? LOCKED_BIT : 0));
+            }
+        }
+        return new PositionSnapshot(moveCount, currentTurn, cells);
+    }
+
+    /**
+     * Places the pawns of the snapshot on a board, in place of the starting layout.
+     *
+     * @param board a generated board with its bases defined and no pawns
+     * @param agents the agents of the game, each at the index of its ID
+     * @throws IllegalArgumentException if the snapshot does not fit the board or the agents
+     */
+    public void restore(Board board, List<Agent> agents) {
+        if (cells.length != board.getNodeCount()) {
+            throw new IllegalArgumentException("Snapshot of " + cells.length + " nodes for a board of " + board.getNodeCount());
+        }
+        for (int i = 0; i < cells.length; i++) {
+            int owner = (cells[i] & ~LOCKED_BIT & 0xFF) - 1;
+            if (owner < 0) {
+                continue;
+            }
+            if (owner >= agents.size()) {
+                throw new IllegalArgumentException("Snapshot has a pawn of agent " + owner);
+            }
+            board.addPawn(board.getNode(i), agents.get(owner));
+            if ((cells[i] & LOCKED_BIT) != 0) {
+                board.getPawn(board.getNode(i)).makeBaseLocked();
+            }
+        }
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    public int getCurrentTurn() {
+        return currentTurn;
+    }
+
+    public byte[] getCells() {
+        return cells;
+    }
+}
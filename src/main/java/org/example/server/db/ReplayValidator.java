@@ -0,0 +1,42 @@
+package org.example.server.db;
+
+import org.example.game_logic.Board;
+import org.example.game_logic.MoveGenerator;
+import org.example.game_logic.Node;
+import org.example.game_logic.Pawn;
+
+import java.util.List;
+
+/**
+ * Replays the stored moves of a game, checking each one against the position the ones before it left.
+ * A move is legal if its start node holds a pawn that can reach its end node in one turn.
+ * Turn boundaries are not stored, as a player's hops are saved one by one, so whose turn a move was is not checked.
+ */
+public final class ReplayValidator {
+
+    private ReplayValidator() {}
+
+    /**
+     * Makes stored moves on a board, stopping at the first illegal one.
+     *
+     * @param board the board, set up as it was before the first of the moves
+     * @param moves the moves, in the order they were made
+     * @return how many moves were made; fewer than given if a move was illegal, which is then the next one
+     */
+    public static int replay(Board board, List<Move> moves) {
+        MoveGenerator generator = new MoveGenerator();
+        for (int i = 0; i < moves.size(); i++) {
+            Node start = board.getNode(moves.get(i).getStartPosition());
+            Node end = board.getNode(moves.get(i).getEndPosition());
+            if (start == null || end == null) {
+                return i;
+            }
+            Pawn pawn = board.getPawn(start);
+            if (pawn == null || board.getPawn(end) != null || !generator.canReach(board, pawn, end)) {
+                return i;
+            }
+            board.move(new org.example.game_logic.Move(start, end));
+        }
+        return moves.size();
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.game_logic;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BitBoardTest {
+
+    private BitBoard board;
+    private StandardBoard reference;
+    private List<Agent> agents;
+
+    @BeforeEach
+    public void setUp() {
+        board = new BitBoard();
+        reference = new StandardBoard();
+        for (StandardBoard b : List.of(board, reference)) {
+            b.generateBoard();
+            b.defineBases();
+            b.defineNeighbours();
+        }
+        agents = new ArrayList<>();
+        agents.add(new Agent(0, false));
+        agents.add(new Agent(1, false));
+        StandardRules rules = new StandardRules();
+        rules.assignBasesToAgents(board, agents);
+        rules.setupBoard(board, agents);
+    }
+
+    @Test
+    public void testNodeLookupMatchesStandardBoard() {
+        assertEquals(121, board.getNodeCount());
+        for (int x = -2; x < 28; x++) {
+            for (int y = -2; y < 20; y++) {
+                Coordinate coordinate = new Coordinate(x, y);
+                Node expected = reference.getNode(coordinate);
+                Node actual = board.getNode(coordinate);
+                if (expected == null) {
+                    assertNull(actual);
+                } else {
+                    assertEquals(expected, actual);
+                    assertSame(actual, board.getNode(actual.getIndex()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOccupancyAfterSetup() {
+        for (int i = 0; i < board.getNodeCount(); i++) {
+            Node node = board.getNode(i);
+            assertEquals(node.getIsOccupied(), board.isOccupied(i));
+            assertSame(node.getOccupant(), board.getPawn(node));
+        }
+    }
+
+    @Test
+    public void testMoveUpdatesDenseTables() {
+        Node start = board.getNode(new Coordinate(9, 3));
+        Node end = board.getNode(new Coordinate(8, 4));
+        Pawn pawn = board.getPawn(start);
+        assertNotNull(pawn);
+
+        board.move(new Move(start, end));
+
+        assertFalse(board.isOccupied(start.getIndex()));
+        assertTrue(board.isOccupied(end.getIndex()));
+        assertNull(board.getPawn(start));
+        assertSame(pawn, board.getPawn(end));
+        assertSame(end, pawn.getLocation());
+        assertSame(pawn, end.getOccupant());
+    }
+
+    @Test
+    public void testCloneAfterMoveCopiesCurrentPawns() throws CloneNotSupportedException {
+        Node start = board.getNode(new Coordinate(9, 3));
+        Node end = board.getNode(new Coordinate(8, 4));
+        Agent owner = board.getPawn(start).getOwner();
+        board.move(new Move(start, end));
+
+        BitBoard cloned = board.clone();
+
+        assertNull(cloned.getPawn(cloned.getNode(start.getIndex())));
+        assertSame(owner, cloned.getPawn(cloned.getNode(end.getIndex())).getOwner());
+        assertEquals(board.positionHash(), cloned.positionHash());
+    }
+
+    @Test
+    public void testCloneIsIndependent() throws CloneNotSupportedException {
+        BitBoard cloned = board.clone();
+        Node start = board.getNode(new Coordinate(9, 3));
+        Node end = board.getNode(new Coordinate(8, 4));
+
+        board.move(new Move(start, end));
+
+        assertTrue(cloned.isOccupied(start.getIndex()));
+        assertFalse(cloned.isOccupied(end.getIndex()));
+        assertSame(cloned.getNode(start.getIndex()).getOccupant(), cloned.getPawn(cloned.getNode(start.getIndex())));
+        assertEquals(BoardType.BITBOARD, cloned.getBoardType());
+    }
+}
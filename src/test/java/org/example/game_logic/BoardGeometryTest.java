@@ -0,0 +1,81 @@
+package org.example.game_logic;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardGeometryTest {
+
+    private StandardBoard board;
+
+    @BeforeEach
+    public void setUp() {
+        board = new StandardBoard();
+        board.generateBoard();
+        board.defineBases();
+        board.defineNeighbours();
+    }
+
+    @Test
+    public void testGeometryIsShared() {
+        assertSame(board.getGeometry(), new StandardBoard().getGeometry());
+        assertSame(board.getGeometry(), new BitBoard().getGeometry());
+        assertSame(BoardType.STANDARD.getGeometry(), board.getGeometry());
+        assertEquals(121, board.getGeometry().size());
+    }
+
+    @Test
+    public void testDistancesAreShortestPaths() {
+        BoardGeometry geometry = board.getGeometry();
+        for (int from = 0; from < geometry.size(); from++) {
+            assertEquals(0, geometry.distance(from, from));
+            for (int to = 0; to < geometry.size(); to++) {
+                int distance = geometry.distance(from, to);
+                assertEquals(distance, geometry.distance(to, from));
+                boolean hasCloserNeighbour = distance == 0;
+                for (Node neighbour : board.getNode(to).getNeighbours()) {
+                    int viaNeighbour = geometry.distance(from, neighbour.getIndex());
+                    assertTrue(distance <= viaNeighbour + 1);
+                    hasCloserNeighbour |= viaNeighbour == distance - 1;
+                }
+                assertTrue(hasCloserNeighbour);
+            }
+        }
+    }
+
+    @Test
+    public void testNeighboursMatchGeometry() {
+        BoardGeometry geometry = board.getGeometry();
+        for (int i = 0; i < geometry.size(); i++) {
+            Node node = board.getNode(i);
+            int count = 0;
+            for (int d = 0; d < BoardGeometry.DIRECTIONS; d++) {
+                int neighbour = geometry.neighbour(i, d);
+                if (neighbour >= 0) {
+                    count++;
+                    assertTrue(node.getNeighbours().contains(board.getNode(neighbour)));
+                    assertEquals(d, geometry.stepDirection(i, neighbour));
+                }
+                int landing = geometry.landing(i, d);
+                if (landing >= 0) {
+                    assertEquals(2, geometry.distance(i, landing));
+                    assertEquals(d, geometry.hopDirection(i, landing));
+                }
+            }
+            assertEquals(count, node.getNeighbours().size());
+        }
+    }
+
+    @Test
+    public void testCalculateDistance() {
+        Node top = board.getNode(new Coordinate(12, 0));
+        Node bottom = board.getNode(new Coordinate(12, 16));
+        Node left = board.getNode(new Coordinate(0, 4));
+
+        assertEquals(16, board.calculateDistance(top, bottom));
+        assertEquals(8, board.calculateDistance(top, left));
+        assertEquals(1, board.calculateDistance(top, board.getNode(new Coordinate(11, 1))));
+        assertEquals(0, board.calculateDistance(top, top));
+    }
+}
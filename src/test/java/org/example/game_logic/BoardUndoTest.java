@@ -0,0 +1,119 @@
+package org.example.game_logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardUndoTest {
+
+    /**
+     * Captures everything applyMove may change: occupancy of every node, the pawn served by the board
+     * for it, and the location and base lock of every pawn.
+     */
+    private static List<Object> snapshot(Board board, List<Agent> agents) {
+        List<Object> state = new ArrayList<>();
+        for (int i = 0; i < board.getNodeCount(); i++) {
+            Node node = board.getNode(i);
+            state.add(board.isOccupied(i));
+            state.add(node.getOccupant());
+            state.add(board.getPawn(node));
+        }
+        for (Agent agent : agents) {
+            for (Pawn pawn : agent.getPawns()) {
+                state.add(pawn.getLocation());
+                state.add(pawn.isBaseLocked());
+            }
+        }
+        return state;
+    }
+
+    private static void assertSameState(List<Object> expected, List<Object> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            if (expected.get(i) instanceof Boolean) {
+                assertEquals(expected.get(i), actual.get(i));
+            } else {
+                assertSame(expected.get(i), actual.get(i));
+            }
+        }
+    }
+
+    /**
+     * Applies a random sequence of legal moves, interleaved with random undos, then undoes the rest
+     * and checks the board is exactly as it started.
+     */
+    private static void randomApplyUndo(Random random, boolean bitBoard) {
+        List<Agent> agents = new ArrayList<>();
+        StandardBoard board = MoveGeneratorTest.randomBoard(random, agents, bitBoard);
+        List<Object> initial = snapshot(board, agents);
+        MoveGenerator generator = new MoveGenerator();
+        Deque<Integer> tokens = new ArrayDeque<>();
+        Deque<List<Object>> states = new ArrayDeque<>();
+
+        for (int step = 0; step < 60; step++) {
+            if (!tokens.isEmpty() && random.nextInt(4) == 0) {
+                board.undoMove(tokens.pop());
+                assertSameState(states.pop(), snapshot(board, agents));
+                continue;
+            }
+            Agent agent = agents.get(random.nextInt(agents.size()));
+            List<Move> moves = new ArrayList<>();
+            generator.addMoves(board, agent, moves);
+            if (moves.isEmpty()) {
+                continue;
+            }
+            states.push(snapshot(board, agents));
+            tokens.push(board.applyMove(moves.get(random.nextInt(moves.size()))));
+        }
+        while (!tokens.isEmpty()) {
+            board.undoMove(tokens.pop());
+        }
+        assertSameState(initial, snapshot(board, agents));
+    }
+
+    @Test
+    public void testRandomApplyUndoRestoresStandardBoard() {
+        Random random = new Random(5);
+        for (int round = 0; round < 100; round++) {
+            randomApplyUndo(random, false);
+        }
+    }
+
+    @Test
+    public void testRandomApplyUndoRestoresBitBoard() {
+        Random random = new Random(6);
+        for (int round = 0; round < 100; round++) {
+            randomApplyUndo(random, true);
+        }
+    }
+
+    @Test
+    public void testUndoRestoresBaseLock() {
+        List<Agent> agents = new ArrayList<>();
+        StandardBoard board = MoveGeneratorTest.randomBoard(new Random(3), agents, true);
+        Agent agent = agents.get(0);
+        for (Node node : board.getBases().get(agent.getFinishBaseIndex())) {
+            if (node.getIsOccupied()) {
+                continue;
+            }
+            for (Node neighbour : node.getNeighbours()) {
+                Pawn pawn = neighbour.getOccupant();
+                if (pawn != null && pawn.getOwner() == agent && !pawn.isBaseLocked()) {
+                    int token = board.applyMove(new Move(neighbour, node));
+                    assertTrue(pawn.isBaseLocked());
+                    board.undoMove(token);
+                    assertFalse(pawn.isBaseLocked());
+                    assertSame(neighbour, pawn.getLocation());
+                    return;
+                }
+            }
+        }
+        fail("No pawn next to a free node of its finish base");
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.game_logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MctsBotTest {
+
+    private static StandardBoard setup(List<Agent> agents) {
+        StandardBoard board = new BitBoard();
+        board.generateBoard();
+        board.defineBases();
+        board.defineNeighbours();
+        StandardRules rules = new StandardRules();
+        rules.assignBasesToAgents(board, agents);
+        rules.setupBoard(board, agents);
+        return board;
+    }
+
+    @Test
+    public void testAnswersWithReachableMoveWithinBudget() {
+        MctsBot bot = new MctsBot(0, 0, 200);
+        List<Agent> agents = new ArrayList<>(List.of(bot, new Agent(1, false), new Agent(2, false)));
+        StandardBoard board = setup(agents);
+        long hash = board.positionHash();
+
+        long start = System.nanoTime();
+        Move move = bot.findBestMove(board);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+        assertNotNull(move);
+        assertSame(bot, board.getPawn(move.getStart()).getOwner());
+        assertTrue(new MoveGenerator().canReach(board, board.getPawn(move.getStart()), move.getEnd()));
+        assertTrue(elapsedMillis < 1000, "search took " + elapsedMillis + " ms");
+        assertEquals(hash, board.positionHash());
+    }
+
+    @Test
+    public void testIterationLimitWithoutTimeBudget() {
+        MctsBot bot = new MctsBot(0, 50, 0);
+        List<Agent> agents = new ArrayList<>(List.of(bot, new Agent(1, false)));
+        Move move = bot.findBestMove(setup(agents));
+        assertNotNull(move);
+        assertThrows(IllegalArgumentException.class, () -> new MctsBot(1, 0, 0));
+    }
+
+    @Test
+    public void testSearchesOnAfterAnOpponentHasFinished() {
+        MctsBot bot = new MctsBot(0, 100, 0);
+        Agent finished = new Agent(2, false);
+        List<Agent> agents = new ArrayList<>(List.of(bot, new Agent(1, false), finished));
+        StandardBoard board = setup(agents);
+        for (Pawn pawn : finished.getPawns()) {
+            pawn.makeBaseLocked();
+        }
+
+        Move move = bot.findBestMove(board);
+        assertNotNull(move);
+        assertSame(bot, board.getPawn(move.getStart()).getOwner());
+    }
+
+    @Test
+    public void testScoreRanksAgents() {
+        List<Agent> agents = new ArrayList<>(List.of(new Agent(0, false), new Agent(1, false), new Agent(2, false)));
+        StandardBoard board = setup(agents);
+        Position position = new Position(board);
+        double[] reward = MctsBot.score(position);
+        // Symmetric start: every agent ties with every other
+        for (double value : reward) {
+            assertEquals(0.5, value, 1e-9);
+        }
+
+        // Agent 0 moves a pawn closer to its goal and gets ahead of both opponents
+        BoardGeometry geometry = position.getGeometry();
+        int goal = position.getGoal(0);
+        List<Move> moves = new ArrayList<>();
+        new MoveGenerator().addMoves(board, agents.get(0), moves);
+        for (Move move : moves) {
+            int start = move.getStart().getIndex();
+            int end = move.getEnd().getIndex();
+            if (geometry.distance(end, goal) < geometry.distance(start, goal)) {
+                position.applyMove(start, end);
+                break;
+            }
+        }
+        reward = MctsBot.score(position);
+        assertEquals(1.0, reward[0], 1e-9);
+        assertEquals(0.25, reward[1], 1e-9);
+        assertEquals(0.25, reward[2], 1e-9);
+    }
+}
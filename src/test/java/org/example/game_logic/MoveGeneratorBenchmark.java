@@ -0,0 +1,60 @@
+package org.example.game_logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares {@link MoveGenerator} with the recursive search the bots used before.
+ * Not a unit test; run it manually with the test classpath.
+ */
+public class MoveGeneratorBenchmark {
+
+    private static final int POSITIONS = 50;
+    private static final int ITERATIONS = 200;
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        List<StandardBoard> boards = new ArrayList<>();
+        List<List<Agent>> agentsPerBoard = new ArrayList<>();
+        for (int i = 0; i < POSITIONS; i++) {
+            List<Agent> agents = new ArrayList<>();
+            boards.add(MoveGeneratorTest.randomBoard(random, agents, false));
+            agentsPerBoard.add(agents);
+        }
+        MoveGenerator generator = new MoveGenerator();
+
+        for (int warmup = 0; warmup < 3; warmup++) {
+            run(boards, agentsPerBoard, null);
+            run(boards, agentsPerBoard, generator);
+        }
+        long legacy = run(boards, agentsPerBoard, null);
+        long generated = run(boards, agentsPerBoard, generator);
+
+        System.out.printf("Recursive search: %.3f us per agent%n", legacy / 1000.0 / (POSITIONS * 6 * ITERATIONS));
+        System.out.printf("MoveGenerator:    %.3f us per agent%n", generated / 1000.0 / (POSITIONS * 6 * ITERATIONS));
+    }
+
+    private static long run(List<StandardBoard> boards, List<List<Agent>> agentsPerBoard, MoveGenerator generator) {
+        long moves = 0;
+        long start = System.nanoTime();
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            for (int i = 0; i < boards.size(); i++) {
+                for (Agent agent : agentsPerBoard.get(i)) {
+                    if (generator == null) {
+                        moves += MoveGeneratorTest.legacyMoves(boards.get(i), agent).size();
+                    } else {
+                        for (Pawn pawn : agent.getPawns()) {
+                            moves += generator.generate(boards.get(i), pawn);
+                        }
+                    }
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (moves < 0) {
+            System.out.println(moves);
+        }
+        return elapsed;
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.game_logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveGeneratorTest {
+
+    /**
+     * Builds a board with pawns of six agents scattered at random, some of them base-locked.
+     */
+    static StandardBoard randomBoard(Random random, List<Agent> agents, boolean bitBoard) {
+        StandardBoard board = bitBoard ? new BitBoard() : new StandardBoard();
+        board.generateBoard();
+        board.defineBases();
+        board.defineNeighbours();
+        for (int i = 0; i < 6; i++) {
+            agents.add(new Agent(i, false));
+        }
+        new StandardRules().assignBasesToAgents(board, agents);
+        List<Node> free = new ArrayList<>(board.getNodes().values());
+        for (Agent agent : agents) {
+            for (int i = 0; i < 10; i++) {
+                Node node = free.remove(random.nextInt(free.size()));
+                board.addPawn(node, agent);
+                if (node.getBaseId() == agent.getFinishBaseIndex() && random.nextBoolean()) {
+                    board.getPawn(node).makeBaseLocked();
+                }
+            }
+        }
+        return board;
+    }
+
+    /**
+     * The recursive jump search the bots used before {@link MoveGenerator}, kept as a reference.
+     */
+    static List<Move> legacyMoves(Board board, Agent agent) {
+        List<Move> validMoves = new ArrayList<>();
+        for (Pawn pawn : agent.getPawns()) {
+            Node startPosition = pawn.getLocation();
+            for (Node neighbor : startPosition.getNeighbours()) {
+                if (!neighbor.getIsOccupied()) {
+                    if (!pawn.isBaseLocked() || neighbor.getBaseId() == agent.getFinishBaseIndex()) {
+                        validMoves.add(new Move(startPosition, neighbor));
+                    }
+                }
+            }
+            legacyJumps(board, startPosition, new ArrayList<>(), validMoves, pawn, agent);
+        }
+        return validMoves;
+    }
+
+    private static void legacyJumps(Board board, Node currentPosition, List<Node> visited,
+                                    List<Move> validMoves, Pawn pawn, Agent agent) {
+        visited.add(currentPosition);
+        for (Node neighbor : currentPosition.getNeighbours()) {
+            if (!neighbor.getIsOccupied())
+                continue;
+            Node jumpPosition = board.getNode(new Coordinate(currentPosition.getXCoordinate() + ((neighbor.getXCoordinate() - currentPosition.getXCoordinate()) * 2),
+                    currentPosition.getYCoordinate() + ((neighbor.getYCoordinate() - currentPosition.getYCoordinate()) * 2)));
+            if (jumpPosition == null)
+                continue;
+            if (!jumpPosition.getIsOccupied() && !visited.contains(jumpPosition)) {
+                if (!pawn.isBaseLocked() || jumpPosition.getBaseId() == agent.getFinishBaseIndex()) {
+                    validMoves.add(new Move(pawn.getLocation(), jumpPosition));
+                    legacyJumps(board, jumpPosition, new ArrayList<>(visited), validMoves, pawn, agent);
+                }
+            }
+        }
+    }
+
+    private static Set<String> asSet(List<Move> moves) {
+        Set<String> set = new HashSet<>();
+        for (Move move : moves) {
+            set.add(move.toString());
+        }
+        return set;
+    }
+
+    @Test
+    public void testMatchesLegacySearch() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<Agent> agents = new ArrayList<>();
+            StandardBoard board = randomBoard(random, agents, round % 2 == 0);
+            MoveGenerator generator = new MoveGenerator();
+            for (Agent agent : agents) {
+                List<Move> generated = new ArrayList<>();
+                generator.addMoves(board, agent, generated);
+
+                Set<String> unique = asSet(generated);
+                assertEquals(generated.size(), unique.size(), "Destinations must be unique");
+                assertEquals(asSet(legacyMoves(board, agent)), unique);
+            }
+        }
+    }
+
+    @Test
+    public void testCanReach() {
+        List<Agent> agents = new ArrayList<>();
+        StandardBoard board = randomBoard(new Random(7), agents, false);
+        MoveGenerator generator = new MoveGenerator();
+        for (Agent agent : agents) {
+            List<Move> moves = new ArrayList<>();
+            generator.addMoves(board, agent, moves);
+            for (Move move : moves) {
+                assertTrue(generator.canReach(board, board.getPawn(move.getStart()), move.getEnd()));
+            }
+            Pawn pawn = agent.getPawns().get(0);
+            assertFalse(generator.canReach(board, pawn, pawn.getLocation()));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.game_logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PositionHashTest {
+
+    private static long hashFromScratch(Board board) {
+        long hash = ZobristKeys.side(board.getSideToMove());
+        for (int i = 0; i < board.getNodeCount(); i++) {
+            Pawn pawn = board.getPawn(board.getNode(i));
+            if (pawn != null) {
+                hash ^= ZobristKeys.pawn(i, pawn.getOwner().getId());
+            }
+        }
+        return hash;
+    }
+
+    @Test
+    public void testIncrementalHashMatchesScratch() {
+        Random random = new Random(11);
+        for (boolean bitBoard : new boolean[]{false, true}) {
+            List<Agent> agents = new ArrayList<>();
+            StandardBoard board = MoveGeneratorTest.randomBoard(random, agents, bitBoard);
+            MoveGenerator generator = new MoveGenerator();
+            assertEquals(hashFromScratch(board), board.positionHash());
+            for (int step = 0; step < 200; step++) {
+                int side = step % agents.size();
+                board.setSideToMove(side);
+                List<Move> moves = new ArrayList<>();
+                generator.addMoves(board, agents.get(side), moves);
+                if (!moves.isEmpty()) {
+                    board.applyMove(moves.get(random.nextInt(moves.size())));
+                }
+                assertEquals(hashFromScratch(board), board.positionHash());
+            }
+        }
+    }
+
+    @Test
+    public void testUndoRestoresHash() {
+        List<Agent> agents = new ArrayList<>();
+        StandardBoard board = MoveGeneratorTest.randomBoard(new Random(12), agents, true);
+        List<Move> moves = new ArrayList<>();
+        new MoveGenerator().addMoves(board, agents.get(0), moves);
+        long before = board.positionHash();
+        for (Move move : moves) {
+            int token = board.applyMove(move);
+            assertNotEquals(before, board.positionHash());
+            board.undoMove(token);
+            assertEquals(before, board.positionHash());
+        }
+    }
+
+    @Test
+    public void testTranspositionsHashEqually() {
+        StandardBoard first = new BitBoard();
+        StandardBoard second = new StandardBoard();
+        Agent agent = new Agent(0, false);
+        for (StandardBoard board : List.of(first, second)) {
+            board.generateBoard();
+            board.defineBases();
+            board.defineNeighbours();
+            board.addPawn(new Coordinate(12, 8), agent);
+            board.addPawn(new Coordinate(4, 8), agent);
+        }
+        first.move(new Move(first.getNode(new Coordinate(12, 8)), first.getNode(new Coordinate(14, 8))));
+        first.move(new Move(first.getNode(new Coordinate(4, 8)), first.getNode(new Coordinate(6, 8))));
+        second.move(new Move(second.getNode(new Coordinate(4, 8)), second.getNode(new Coordinate(6, 8))));
+        second.move(new Move(second.getNode(new Coordinate(12, 8)), second.getNode(new Coordinate(14, 8))));
+
+        assertEquals(first.positionHash(), second.positionHash());
+
+        long hash = first.positionHash();
+        first.setSideToMove(1);
+        assertNotEquals(hash, first.positionHash());
+        first.setSideToMove(0);
+        assertEquals(hash, first.positionHash());
+    }
+}
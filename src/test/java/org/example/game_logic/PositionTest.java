@@ -0,0 +1,101 @@
+package org.example.game_logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PositionTest {
+
+    private static Set<Integer> positionMoves(Position position, int seat) {
+        MoveGenerator generator = new MoveGenerator();
+        Set<Integer> moves = new HashSet<>();
+        for (int p = 0; p < position.getPawnCount(seat); p++) {
+            int start = position.getPawnCell(seat, p);
+            int count = generator.generate(position.getGeometry(), position, start,
+                    position.getFinishBase(seat), position.isLocked(start));
+            for (int i = 0; i < count; i++) {
+                moves.add(start | generator.getDestination(i) << 7);
+            }
+        }
+        return moves;
+    }
+
+    private static Set<Integer> boardMoves(Board board, Agent agent) {
+        List<Move> moves = new ArrayList<>();
+        new MoveGenerator().addMoves(board, agent, moves);
+        Set<Integer> packed = new HashSet<>();
+        for (Move move : moves) {
+            packed.add(move.getStart().getIndex() | move.getEnd().getIndex() << 7);
+        }
+        return packed;
+    }
+
+    @Test
+    public void testSnapshotMatchesBoard() {
+        List<Agent> agents = new ArrayList<>();
+        StandardBoard board = MoveGeneratorTest.randomBoard(new Random(21), agents, true);
+        board.setSideToMove(2);
+        Position position = new Position(board);
+
+        assertEquals(6, position.getSeatCount());
+        assertEquals(2, position.getSideToMove());
+        assertEquals(board.positionHash(), position.hash());
+        for (int i = 0; i < board.getNodeCount(); i++) {
+            assertEquals(board.isOccupied(i), position.isOccupied(i));
+        }
+        for (int seat = 0; seat < 6; seat++) {
+            assertSame(agents.get(seat), position.getAgent(seat));
+            assertEquals(boardMoves(board, agents.get(seat)), positionMoves(position, seat));
+        }
+    }
+
+    @Test
+    public void testApplyAndUndoFollowTheBoard() {
+        Random random = new Random(22);
+        List<Agent> agents = new ArrayList<>();
+        StandardBoard board = MoveGeneratorTest.randomBoard(random, agents, false);
+        Position position = new Position(board);
+        for (int step = 0; step < 200; step++) {
+            int seat = step % 6;
+            List<Integer> moves = new ArrayList<>(positionMoves(position, seat));
+            if (moves.isEmpty()) {
+                continue;
+            }
+            int move = moves.get(random.nextInt(moves.size()));
+            int distanceSum = position.getDistanceSum(seat);
+            long hash = position.hash();
+
+            int token = position.applyMove(move & 0x7F, move >>> 7);
+            position.undoMove(token);
+            assertEquals(distanceSum, position.getDistanceSum(seat));
+            assertEquals(hash, position.hash());
+
+            position.applyMove(move & 0x7F, move >>> 7);
+            board.applyMove(move & 0x7F, move >>> 7);
+            assertEquals(board.positionHash(), position.hash());
+            for (int i = 0; i < board.getNodeCount(); i++) {
+                Pawn pawn = board.getPawn(board.getNode(i));
+                assertEquals(pawn != null && pawn.isBaseLocked(), position.isLocked(i));
+            }
+        }
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        List<Agent> agents = new ArrayList<>();
+        Position position = new Position(MoveGeneratorTest.randomBoard(new Random(23), agents, true));
+        Position copy = position.copy();
+        int move = positionMoves(copy, 0).iterator().next();
+        copy.applyMove(move & 0x7F, move >>> 7);
+
+        assertTrue(position.isOccupied(move & 0x7F));
+        assertFalse(position.isOccupied(move >>> 7));
+        assertNotEquals(position.hash(), copy.hash());
+    }
+}
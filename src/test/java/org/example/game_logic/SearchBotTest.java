@@ -0,0 +1,84 @@
+package org.example.game_logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchBotTest {
+
+    private static StandardBoard setup(List<Agent> agents) {
+        StandardBoard board = new BitBoard();
+        board.generateBoard();
+        board.defineBases();
+        board.defineNeighbours();
+        StandardRules rules = new StandardRules();
+        rules.assignBasesToAgents(board, agents);
+        rules.setupBoard(board, agents);
+        return board;
+    }
+
+    @Test
+    public void testAnswersWithReachableMoveWithinBudget() {
+        SearchBot bot = new SearchBot(0, 200);
+        List<Agent> agents = new ArrayList<>(List.of(bot, new Agent(1, false), new Agent(2, false)));
+        Board board = setup(agents);
+        long hash = board.positionHash();
+
+        long start = System.nanoTime();
+        Move move = bot.findBestMove(board);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+        assertNotNull(move);
+        assertSame(bot, board.getPawn(move.getStart()).getOwner());
+        assertTrue(new MoveGenerator().canReach(board, board.getPawn(move.getStart()), move.getEnd()));
+        assertTrue(elapsedMillis < 1000, "search took " + elapsedMillis + " ms");
+        assertEquals(hash, board.positionHash());
+    }
+
+    @Test
+    public void testTakesTheWinningMove() {
+        SearchBot bot = new SearchBot(0, 200);
+        Agent opponent = new Agent(1, false);
+        List<Agent> agents = new ArrayList<>(List.of(bot, opponent));
+        StandardBoard board = new BitBoard();
+        board.generateBoard();
+        board.defineBases();
+        board.defineNeighbours();
+        new StandardRules().assignBasesToAgents(board, agents);
+
+        // A single pawn of the bot one step outside its finish base, the opponent far from home
+        Node entry = null;
+        for (Node node : board.getBases().get(bot.getFinishBaseIndex())) {
+            for (Node neighbour : node.getNeighbours()) {
+                if (neighbour.getBaseId() == -1) {
+                    entry = neighbour;
+                }
+            }
+        }
+        assertNotNull(entry);
+        board.addPawn(entry, bot);
+        board.addPawn(board.getBases().get(opponent.getStartBaseIndex()).iterator().next(), opponent);
+
+        Move move = bot.findBestMove(board);
+
+        assertSame(entry, move.getStart());
+        assertEquals(bot.getFinishBaseIndex(), move.getEnd().getBaseId());
+    }
+
+    @Test
+    public void testOpponentFinishedBeforeSearchIsNoLoss() {
+        SearchBot bot = new SearchBot(0, 50);
+        Agent finished = new Agent(2, false);
+        List<Agent> agents = new ArrayList<>(List.of(bot, new Agent(1, false), finished));
+        Board board = setup(agents);
+        for (Pawn pawn : finished.getPawns()) {
+            pawn.makeBaseLocked();
+        }
+
+        assertNotNull(bot.findBestMove(board));
+        assertTrue(bot.evaluate(new Position(board)) > -1_000_000, "a seat finished before the search counts as a loss");
+    }
+}
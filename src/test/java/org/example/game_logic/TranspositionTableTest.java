@@ -0,0 +1,116 @@
+package org.example.game_logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranspositionTableTest {
+
+    @Test
+    public void testStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(1);
+        long hash = 0x1234_5678_9ABC_DEF0L;
+        assertEquals(TranspositionTable.MISS, table.probe(hash));
+
+        table.store(table.newSearch(), hash, 7, -4242, TranspositionTable.LOWER_BOUND, 5 | 90 << 7);
+        long entry = table.probe(hash);
+        assertEquals(7, TranspositionTable.depth(entry));
+        assertEquals(-4242, TranspositionTable.score(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+        assertEquals(5 | 90 << 7, TranspositionTable.move(entry));
+        assertEquals(TranspositionTable.MISS, table.probe(hash + 1));
+
+        table.clear();
+        assertEquals(TranspositionTable.MISS, table.probe(hash));
+    }
+
+    @Test
+    public void testMemoryCap() {
+        assertEquals(1 << 16, new TranspositionTable(1).capacity());
+        assertEquals(1 << 20, new TranspositionTable(16).capacity());
+        assertEquals(1 << 20, new TranspositionTable(20).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+
+    @Test
+    public void testReplacementPrefersDeepAndRecentEntries() {
+        TranspositionTable table = new TranspositionTable(1);
+        int buckets = table.capacity() / 2;
+        // Three hashes landing in the same bucket
+        long shallow = 1;
+        long deep = 1 + buckets;
+        long incoming = 1 + 2L * buckets;
+
+        int search = table.newSearch();
+        table.store(search, deep, 9, 1, TranspositionTable.EXACT, 0);
+        table.store(search, shallow, 2, 2, TranspositionTable.EXACT, 0);
+        table.store(search, incoming, 5, 3, TranspositionTable.EXACT, 0);
+        assertNotEquals(TranspositionTable.MISS, table.probe(deep));
+        assertEquals(TranspositionTable.MISS, table.probe(shallow));
+        assertNotEquals(TranspositionTable.MISS, table.probe(incoming));
+
+        // A deeper result of the same search is not replaced by a shallower bound
+        table.store(search, deep, 3, 4, TranspositionTable.UPPER_BOUND, 0);
+        assertEquals(9, TranspositionTable.depth(table.probe(deep)));
+
+        // Once the deep entry is old enough, a fresh shallow one takes its place
+        table.newSearch();
+        int later = table.newSearch();
+        table.store(later, incoming, 5, 3, TranspositionTable.EXACT, 0);
+        table.store(later, shallow, 1, 2, TranspositionTable.EXACT, 0);
+        assertEquals(TranspositionTable.MISS, table.probe(deep));
+        assertNotEquals(TranspositionTable.MISS, table.probe(shallow));
+    }
+
+    @Test
+    public void testSearchesDoNotAgeEachOthersEntries() {
+        TranspositionTable table = new TranspositionTable(1);
+        int buckets = table.capacity() / 2;
+        long shallow = 1;
+        long deep = 1 + buckets;
+        long incoming = 1 + 2L * buckets;
+
+        int first = table.newSearch();
+        int second = table.newSearch();
+        table.store(second, deep, 9, 1, TranspositionTable.EXACT, 0);
+        table.store(second, shallow, 2, 2, TranspositionTable.EXACT, 0);
+        // The first search is still running: the later search's entries are current to it, not ancient
+        table.store(first, incoming, 5, 3, TranspositionTable.EXACT, 0);
+        assertNotEquals(TranspositionTable.MISS, table.probe(deep));
+        assertEquals(TranspositionTable.MISS, table.probe(shallow));
+    }
+
+    @Test
+    public void testConcurrentWritersNeverExposeTornEntries() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(1);
+        AtomicInteger corrupted = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        int search = table.newSearch();
+        for (int t = 0; t < 4; t++) {
+            long seed = t;
+            threads.add(new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int i = 0; i < 200_000; i++) {
+                    // Few distinct keys, so threads keep overwriting the same buckets
+                    long hash = random.nextInt(4096) * 0x9E3779B97F4A7C15L;
+                    int score = (int) (hash >>> 40);
+                    table.store(search, hash, (int) (hash & 0x3F), score, TranspositionTable.EXACT, 0);
+                    long entry = table.probe(hash);
+                    if (entry != TranspositionTable.MISS && TranspositionTable.score(entry) != score) {
+                        corrupted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, corrupted.get());
+    }
+}
@@ -0,0 +1,191 @@
+package org.example.message;
+
+import org.example.GameState;
+import org.example.game_logic.Agent;
+import org.example.game_logic.Board;
+import org.example.game_logic.BoardType;
+import org.example.game_logic.BotType;
+import org.example.game_logic.Coordinate;
+import org.example.game_logic.Move;
+import org.example.game_logic.MoveGenerator;
+import org.example.game_logic.Player;
+import org.example.game_logic.RulesType;
+import org.example.game_logic.StandardBoard;
+import org.example.game_logic.StandardRules;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MessageCodecTest {
+
+    private static Message roundTrip(Message message) throws IOException {
+        byte[] frame = MessageFrames.encode(message, MessageCodec.BINARY);
+        Message decoded = MessageFrames.decode(frame, MessageFrames.HEADER_BYTES, frame.length - MessageFrames.HEADER_BYTES);
+        assertEquals(message.getType(), decoded.getType());
+        return decoded;
+    }
+
+    private static GameState startedGame(BoardType boardType) {
+        StandardBoard board = (StandardBoard) boardType.createBoard();
+        board.generateBoard();
+        board.defineBases();
+        board.defineNeighbours();
+        List<Agent> agents = List.of(new Player(null, 0), new Agent(1, false), new Agent(2, false));
+        StandardRules rules = new StandardRules();
+        rules.assignBasesToAgents(board, agents);
+        rules.setupBoard(board, agents);
+        MoveGenerator generator = new MoveGenerator();
+        for (int turn = 0; turn < 6; turn++) {
+            List<Move> moves = new ArrayList<>();
+            generator.addMoves(board, agents.get(turn % 3), moves);
+            board.move(moves.get(0));
+        }
+        board.setSideToMove(2);
+        return new GameState(board, true);
+    }
+
+    @Test
+    public void testSimpleMessagesRoundTrip() throws IOException {
+        assertEquals("hi ż", ((StringMessage) roundTrip(new StringMessage("hi ż"))).getMessage());
+        roundTrip(new DisconnectMessage());
+        roundTrip(new EndTurnMessage());
+        roundTrip(new PromptMoveMessage());
+
+        MoveMessage move = (MoveMessage) roundTrip(new MoveMessage(new Coordinate(12, 0), new Coordinate(24, 16)));
+        assertEquals(new Coordinate(12, 0), move.getStart());
+        assertEquals(new Coordinate(24, 16), move.getEnd());
+
+        CommandMessage command = (CommandMessage) roundTrip(new CommandMessage(Commands.START_GAME, new String[]{"start", null}));
+        assertEquals(Commands.START_GAME, command.getCommand());
+        assertArrayEquals(new String[]{"start", null}, command.getMessage());
+
+        UsernameMessage username = (UsernameMessage) roundTrip(new UsernameMessage("alice"));
+        assertEquals("alice", username.getUsername());
+        assertNull(username.getRoomId());
+        assertEquals("room", ((UsernameMessage) roundTrip(new UsernameMessage("bob", "room"))).getRoomId());
+
+        assertArrayEquals(new String[]{"a", "b"}, ((UserlistMessage) roundTrip(new UserlistMessage(new String[]{"a", "b"}))).getMessage());
+        assertEquals(RulesType.CHAOS, ((RulesTypeMessage) roundTrip(new RulesTypeMessage(RulesType.CHAOS))).getRulesetType());
+        assertEquals(BoardType.BITBOARD, ((BoardTypeMessage) roundTrip(new BoardTypeMessage(BoardType.BITBOARD))).getBoardType());
+        assertEquals("save", ((GameToBeLoadedMessage) roundTrip(new GameToBeLoadedMessage("save"))).getGameName());
+        assertEquals("game", ((GameNameMessage) roundTrip(new GameNameMessage("game"))).getGameName());
+
+        BotsCountMessage bots = (BotsCountMessage) roundTrip(new BotsCountMessage(3, List.of(BotType.MCTS, BotType.SEARCH)));
+        assertEquals(3, bots.getBotsCount());
+        assertEquals(List.of(BotType.MCTS, BotType.SEARCH), bots.getBotTypes());
+
+        assertEquals(MessageCodec.BINARY_VERSION, ((CodecMessage) roundTrip(new CodecMessage(MessageCodec.BINARY_VERSION))).getBinaryVersion());
+    }
+
+    @Test
+    public void testBatchRoundTrip() throws IOException {
+        BatchMessage batch = (BatchMessage) roundTrip(new BatchMessage(List.of(
+                new StringMessage("moved"), new GameStateDeltaMessage(3, 1, new int[]{GameStateDeltaMessage.cell(5, 2, true)}), new PromptMoveMessage())));
+        assertEquals(3, batch.getMessages().size());
+        assertEquals("moved", ((StringMessage) batch.getMessages().get(0)).getMessage());
+        GameStateDeltaMessage delta = (GameStateDeltaMessage) batch.getMessages().get(1);
+        assertEquals(3, delta.getSequence());
+        assertArrayEquals(new int[]{GameStateDeltaMessage.cell(5, 2, true)}, delta.getCells());
+        assertEquals(MessageType.PROMPT_MOVE, batch.getMessages().get(2).getType());
+
+        byte[] nested = {(byte) MessageType.BATCH.ordinal(), 1, (byte) MessageType.BATCH.ordinal(), 0};
+        assertThrows(StreamCorruptedException.class, () -> MessageFrames.decode(nested, 0, nested.length));
+    }
+
+    @Test
+    public void testGameStateRoundTrip() throws IOException {
+        for (BoardType boardType : BoardType.values()) {
+            GameState state = startedGame(boardType);
+            Board board = state.getBoard();
+            GameStateMessage decoded = (GameStateMessage) roundTrip(new GameStateMessage(state, new String[]{"alice", "AI-1", "AI-2"}, 2));
+
+            assertArrayEquals(new String[]{"alice", "AI-1", "AI-2"}, decoded.getPlayers());
+            assertEquals(2, decoded.getTurn());
+            assertTrue(decoded.getGameState().isRunning());
+            Board copy = decoded.getGameState().getBoard();
+            assertEquals(boardType, copy.getBoardType());
+            assertEquals(board.positionHash(), copy.positionHash());
+            assertEquals(2, copy.getSideToMove());
+            assertEquals(((StandardBoard) board).getMoves().size(), ((StandardBoard) copy).getMoves().size());
+            for (int i = 0; i < board.getNodeCount(); i++) {
+                if (board.getPawn(board.getNode(i)) == null) {
+                    assertNull(copy.getPawn(copy.getNode(i)));
+                    continue;
+                }
+                Agent owner = board.getPawn(board.getNode(i)).getOwner();
+                Agent copiedOwner = copy.getPawn(copy.getNode(i)).getOwner();
+                assertEquals(owner.getId(), copiedOwner.getId());
+                assertEquals(owner.isPlayer(), copiedOwner.isPlayer());
+                assertEquals(owner.getFinishBaseIndex(), copiedOwner.getFinishBaseIndex());
+                assertEquals(board.getPawn(board.getNode(i)).isBaseLocked(), copy.getPawn(copy.getNode(i)).isBaseLocked());
+            }
+        }
+        GameStateMessage empty = (GameStateMessage) roundTrip(new GameStateMessage(new GameState(), new String[0], 0));
+        assertNull(empty.getGameState().getBoard());
+        assertFalse(empty.getGameState().isRunning());
+    }
+
+    @Test
+    public void testDeltaAppliesMoveToSnapshot() throws IOException {
+        GameState server = startedGame(BoardType.STANDARD);
+        server.setSequence(7);
+        GameState client = ((GameStateMessage) roundTrip(new GameStateMessage(server, new String[]{"a", "b", "c"}, 2))).getGameState();
+        assertEquals(7, client.getSequence());
+
+        Board board = server.getBoard();
+        Agent mover = null;
+        for (int i = 0; mover == null; i++) {
+            if (board.getPawn(board.getNode(i)) != null && board.getPawn(board.getNode(i)).getOwner().getId() == 2) {
+                mover = board.getPawn(board.getNode(i)).getOwner();
+            }
+        }
+        List<Move> moves = new ArrayList<>();
+        new MoveGenerator().addMoves(board, mover, moves);
+        Move move = moves.get(0);
+        int ownerId = mover.getId();
+        board.move(move);
+        board.setSideToMove(0);
+        GameStateDeltaMessage delta = (GameStateDeltaMessage) roundTrip(new GameStateDeltaMessage(8, 0, new int[]{
+                GameStateDeltaMessage.cell(move.getStart().getIndex(), -1, false),
+                GameStateDeltaMessage.cell(move.getEnd().getIndex(), ownerId, false)}));
+
+        assertTrue(delta.applyTo(client));
+        assertEquals(8, client.getSequence());
+        assertEquals(board.positionHash(), client.getBoard().positionHash());
+        assertEquals(0, client.getBoard().getSideToMove());
+        assertFalse(delta.applyTo(client), "a delta is applied only on top of the previous sequence number");
+    }
+
+    @Test
+    public void testBinaryIsAnOrderOfMagnitudeSmaller() throws IOException {
+        GameStateMessage state = new GameStateMessage(startedGame(BoardType.STANDARD), new String[]{"alice", "AI-1", "AI-2"}, 1);
+        MoveMessage move = new MoveMessage(new Coordinate(12, 4), new Coordinate(13, 5));
+        for (Message message : List.of(state, move)) {
+            int binary = MessageFrames.encode(message, MessageCodec.BINARY).length;
+            int serialized = MessageFrames.encode(message, MessageCodec.SERIALIZATION).length;
+            assertTrue(binary * 10 <= serialized, message.getType() + ": " + binary + " vs " + serialized + " bytes");
+        }
+    }
+
+    @Test
+    public void testBothCodecsAreReadAlike() throws IOException {
+        byte[] frame = MessageFrames.encode(new StringMessage("old client"), MessageCodec.SERIALIZATION);
+        Message decoded = MessageFrames.decode(frame, MessageFrames.HEADER_BYTES, frame.length - MessageFrames.HEADER_BYTES);
+        assertEquals("old client", ((StringMessage) decoded).getMessage());
+    }
+
+    @Test
+    public void testCorruptPayloadIsRejected() {
+        byte[] unknownType = {(byte) 0x7F};
+        assertThrows(StreamCorruptedException.class, () -> MessageFrames.decode(unknownType, 0, 1));
+        byte[] hugeString = {(byte) MessageType.STRING.ordinal(), (byte) 0xFF, (byte) 0xFF, 0x7F};
+        assertThrows(StreamCorruptedException.class, () -> MessageFrames.decode(hugeString, 0, hugeString.length));
+        byte[] negativeCount = {(byte) MessageType.GAMESTATE_DELTA.ordinal(), 0, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        assertThrows(StreamCorruptedException.class, () -> MessageFrames.decode(negativeCount, 0, negativeCount.length));
+    }
+}
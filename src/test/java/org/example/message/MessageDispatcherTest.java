@@ -0,0 +1,55 @@
+package org.example.message;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MessageDispatcherTest {
+
+    private static MessageHandler recording(MessageType type, String name, List<String> calls) {
+        return new MessageHandler(type) {
+            @Override
+            public void handle(MessageSenderPair message) {
+                calls.add(name + ":" + message.getMessage());
+            }
+        };
+    }
+
+    @Test
+    public void testDispatchesToHandlersOfTheTypeInOrder() {
+        MessageDispatcher dispatcher = new MessageDispatcher();
+        List<String> calls = new ArrayList<>();
+        dispatcher.add(recording(MessageType.STRING, "first", calls));
+        dispatcher.add(recording(MessageType.MOVE, "move", calls));
+        MessageHandler[] before = dispatcher.handlersOf(MessageType.STRING);
+        dispatcher.add(recording(MessageType.STRING, "second", calls));
+
+        dispatcher.dispatch(new MessageSenderPair(new StringMessage("hi"), null));
+        dispatcher.dispatch(new MessageSenderPair(new EndTurnMessage(), null));
+
+        assertEquals(List.of("first:hi", "second:hi"), calls);
+        assertEquals(1, before.length, "Published tables are never changed");
+        assertEquals(0, dispatcher.handlersOf(MessageType.END_TURN).length);
+        assertEquals(1, dispatcher.getLatency(MessageType.STRING).getCount());
+        assertEquals(1, dispatcher.getLatency(MessageType.END_TURN).getCount());
+        assertEquals(0, dispatcher.getLatency(MessageType.MOVE).getCount());
+    }
+
+    @Test
+    public void testHistogramPercentilesAreWithinAFactorOfTwo() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_500, histogram.getMeanNanos());
+        long p50 = histogram.getPercentileNanos(50);
+        assertTrue(p50 >= 500_000 && p50 <= 1_000_000, "p50 " + p50);
+        long p99 = histogram.getPercentileNanos(99);
+        assertTrue(p99 >= 990_000 && p99 <= 1_980_000, "p99 " + p99);
+        assertEquals(0, new LatencyHistogram().getPercentileNanos(99));
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.server;
+
+import org.example.message.EchoMessageHandler;
+import org.example.message.MessageFrames;
+import org.example.message.StringMessage;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opens many connections to the blocking transport with platform and with virtual connection threads,
+ * and reports how many platform threads and how much heap each connection costs.
+ * Not a unit test; run it manually with the test classpath.
+ */
+public class ConnectionLoadBenchmark {
+
+    private static final int CONNECTIONS = 500;
+
+    public static void main(String[] args) throws Exception {
+        holdConnections(false);
+        holdConnections(true);
+    }
+
+    private static void holdConnections(boolean virtualThreads) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Server server = Server.create(new BlockingTransport(virtualThreads));
+        server.serverCallbacksHandler = new SilentCallbacks();
+        server.AddHandler(new EchoMessageHandler());
+        server.Bind(0);
+        server.Listen();
+
+        List<Socket> sockets = new ArrayList<>();
+        try {
+            int threadsBefore = threads.getThreadCount();
+            long heapBefore = usedHeap();
+            for (int i = 0; i < CONNECTIONS; i++) {
+                Socket socket = new Socket("localhost", server.getPort());
+                socket.setSoTimeout(10_000);
+                sockets.add(socket);
+                MessageFrames.write(new DataOutputStream(socket.getOutputStream()), new StringMessage("ping " + i));
+            }
+            for (int i = 0; i < CONNECTIONS; i++) {
+                StringMessage reply = (StringMessage) MessageFrames.read(new DataInputStream(sockets.get(i).getInputStream()));
+                if (!reply.getMessage().equals("ping " + i)) {
+                    throw new IllegalStateException("Connection " + i + " got " + reply.getMessage());
+                }
+            }
+            int threadGrowth = threads.getThreadCount() - threadsBefore;
+            long heapPerConnection = (usedHeap() - heapBefore) / CONNECTIONS;
+
+            System.out.printf("%s threads: %d connections, %d new platform threads, ~%d heap bytes per connection%n",
+                    virtualThreads ? "Virtual" : "Platform", server.getConnections().size(), threadGrowth, heapPerConnection);
+        } finally {
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+            server.Shutdown();
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MailboxTest {
+
+    @Test
+    public void testCommandsRunOneAtATimeInPostingOrder() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Mailbox mailbox = new Mailbox(executor);
+        int producers = 4;
+        int commandsPerProducer = 20_000;
+        CountDownLatch done = new CountDownLatch(producers * commandsPerProducer);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        // Only touched by the mailbox, so plain fields are enough if it really runs one command at a time
+        int[] lastSeen = new int[producers];
+        int[] outOfOrder = new int[1];
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads.add(new Thread(() -> {
+                for (int i = 1; i <= commandsPerProducer; i++) {
+                    int sequence = i;
+                    mailbox.post(() -> {
+                        if (running.incrementAndGet() != 1) {
+                            overlaps.incrementAndGet();
+                        }
+                        if (lastSeen[producer] != sequence - 1) {
+                            outOfOrder[0]++;
+                        }
+                        lastSeen[producer] = sequence;
+                        running.decrementAndGet();
+                        done.countDown();
+                    });
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(0, overlaps.get());
+        assertEquals(0, outOfOrder[0]);
+    }
+
+    @Test
+    public void testFailingCommandDoesNotStopTheMailbox() throws InterruptedException {
+        Mailbox mailbox = new Mailbox(Executors.newSingleThreadExecutor());
+        CountDownLatch done = new CountDownLatch(1);
+        mailbox.post(() -> {
+            throw new IllegalStateException("expected by the test");
+        });
+        mailbox.post(done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,247 @@
+package org.example.server;
+
+import org.example.Config;
+import org.example.GameState;
+import org.example.game_logic.StandardBoard;
+import org.example.message.BatchMessage;
+import org.example.message.CodecMessage;
+import org.example.message.EchoMessageHandler;
+import org.example.message.GameStateDeltaMessage;
+import org.example.message.GameStateMessage;
+import org.example.message.Message;
+import org.example.message.MessageCodec;
+import org.example.message.MessageFrames;
+import org.example.message.MessageType;
+import org.example.message.PromptMoveMessage;
+import org.example.message.StringMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NioTransportTest {
+
+    private Server server;
+
+    @BeforeEach
+    void setUp() {
+        server = Server.create(new NioTransport(2));
+        server.serverCallbacksHandler = new SilentCallbacks();
+        server.AddHandler(new EchoMessageHandler());
+        server.Bind(0);
+        server.Listen();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.Shutdown();
+    }
+
+    @Test
+    void echoesOverManyConnections() throws Exception {
+        List<Socket> sockets = new ArrayList<>();
+        try {
+            for (int i = 0; i < 200; i++) {
+                sockets.add(connect());
+            }
+            for (int i = 0; i < sockets.size(); i++) {
+                MessageFrames.write(new DataOutputStream(sockets.get(i).getOutputStream()), new StringMessage("hello " + i));
+            }
+            for (int i = 0; i < sockets.size(); i++) {
+                Message reply = MessageFrames.read(new DataInputStream(sockets.get(i).getInputStream()));
+                assertEquals("hello " + i, ((StringMessage) reply).getMessage());
+            }
+            assertEquals(200, server.getConnections().size());
+        } finally {
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+        }
+    }
+
+    @Test
+    void reassemblesFramesSplitAcrossReads() throws Exception {
+        try (Socket socket = connect()) {
+            OutputStream out = socket.getOutputStream();
+            byte[] first = MessageFrames.encode(new StringMessage("first"));
+            byte[] second = MessageFrames.encode(new StringMessage("x".repeat(100_000)));
+            for (byte b : first) {
+                out.write(b);
+                out.flush();
+            }
+            out.write(second);
+            out.flush();
+
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            assertEquals("first", ((StringMessage) MessageFrames.read(in)).getMessage());
+            assertEquals(100_000, ((StringMessage) MessageFrames.read(in)).getMessage().length());
+        }
+    }
+
+    @Test
+    void closesConnectionOnInvalidFrame() throws Exception {
+        try (Socket socket = connect()) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeInt(-5);
+            out.flush();
+
+            socket.setSoTimeout(5000);
+            assertEquals(-1, socket.getInputStream().read());
+        }
+        for (int i = 0; i < 100 && !server.getConnections().isEmpty(); i++) {
+            Thread.sleep(20);
+        }
+        assertTrue(server.getConnections().isEmpty());
+    }
+
+    @Test
+    void switchesToBinaryAfterNegotiation() throws Exception {
+        try (Socket socket = connect()) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            MessageFrames.write(out, new CodecMessage(MessageCodec.BINARY_VERSION));
+            assertEquals(MessageCodec.BINARY_VERSION, ((CodecMessage) MessageFrames.read(in)).getBinaryVersion());
+
+            MessageFrames.write(out, new StringMessage("binary"), MessageCodec.BINARY);
+            int length = in.readInt();
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            assertEquals(MessageType.STRING.ordinal(), payload[0]);
+            assertEquals("binary", ((StringMessage) MessageFrames.decode(payload, 0, length)).getMessage());
+        }
+    }
+
+    @Test
+    void broadcastsInOrderWithTheCodecOfEachConnection() throws Exception {
+        try (Socket plain = connect(); Socket binary = connect()) {
+            DataInputStream binaryIn = new DataInputStream(binary.getInputStream());
+            MessageFrames.write(new DataOutputStream(binary.getOutputStream()), new CodecMessage(MessageCodec.BINARY_VERSION));
+            MessageFrames.read(binaryIn);
+            for (int i = 0; i < 100 && server.getConnections().size() < 2; i++) {
+                Thread.sleep(20);
+            }
+
+            for (int i = 0; i < 50; i++) {
+                server.Broadcast(new StringMessage("move " + i));
+            }
+
+            DataInputStream plainIn = new DataInputStream(plain.getInputStream());
+            for (int i = 0; i < 50; i++) {
+                assertEquals("move " + i, ((StringMessage) MessageFrames.read(plainIn)).getMessage());
+                int length = binaryIn.readInt();
+                byte[] payload = new byte[length];
+                binaryIn.readFully(payload);
+                assertEquals(MessageType.STRING.ordinal(), payload[0]);
+                assertEquals("move " + i, ((StringMessage) MessageFrames.decode(payload, 0, length)).getMessage());
+            }
+        }
+    }
+
+    @Test
+    void stalledClientDoesNotBlockSenders() throws Exception {
+        try (Socket stalled = connect()) {
+            // The client never reads, so only its receive buffer and the queue take what is sent
+            assertTrue(stalled.isConnected());
+            for (int i = 0; i < 100 && server.getConnections().isEmpty(); i++) {
+                Thread.sleep(20);
+            }
+            ServerConnection connection = server.getConnections().get(0);
+            String chat = "x".repeat(20_000);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < 3000; i++) {
+                server.Broadcast(new StringMessage(chat));
+            }
+            assertTrue(System.nanoTime() - start < 10_000_000_000L, "Broadcasting to a stalled client blocked");
+            assertTrue(connection.getDroppedFrames() > 0);
+            assertTrue(connection.getQueuedFramesHighWater() <= Config.OUTBOUND_QUEUE_FRAMES);
+            assertEquals(1, server.getConnections().size(), "Dropping chat keeps the client connected");
+
+            server.Send(new PromptMoveMessage(), connection);
+            assertTrue(server.getConnections().isEmpty(), "A message that cannot be dropped disconnects the client");
+        }
+    }
+
+    @Test
+    void sendsWhatACommandSentAsOneFramePerConnection() throws Exception {
+        try (Socket first = connect(); Socket second = connect()) {
+            for (int i = 0; i < 100 && server.getConnections().size() < 2; i++) {
+                Thread.sleep(20);
+            }
+            ServerConnection firstConnection = server.getConnections().get(0);
+            OutboundBatch.run(server, () -> {
+                server.Broadcast(new StringMessage("moved"));
+                server.Send(new PromptMoveMessage(), firstConnection);
+            });
+
+            // Only one of the sockets is the first connection, and only it gets the prompt
+            Message fromFirst = MessageFrames.read(new DataInputStream(first.getInputStream()));
+            Message fromSecond = MessageFrames.read(new DataInputStream(second.getInputStream()));
+            Message batch = fromFirst.getType() == MessageType.BATCH ? fromFirst : fromSecond;
+            Message single = batch == fromFirst ? fromSecond : fromFirst;
+            assertEquals(MessageType.BATCH, batch.getType());
+            List<Message> messages = ((BatchMessage) batch).getMessages();
+            assertEquals("moved", ((StringMessage) messages.get(0)).getMessage());
+            assertEquals(MessageType.PROMPT_MOVE, messages.get(1).getType());
+            assertEquals("moved", ((StringMessage) single).getMessage());
+        }
+    }
+
+    @Test
+    void leavesOutUpdatesSentAfterAFullStateInOneCommand() throws Exception {
+        try (Socket socket = connect()) {
+            for (int i = 0; i < 100 && server.getConnections().isEmpty(); i++) {
+                Thread.sleep(20);
+            }
+            StandardBoard board = new StandardBoard();
+            board.generateBoard();
+            GameState state = new GameState(board, true);
+            OutboundBatch.run(server, () -> {
+                server.Broadcast(new GameStateMessage(state, new String[0], 0));
+                state.setSequence(1);
+                server.Broadcast(new GameStateDeltaMessage(1, 0, new int[]{GameStateDeltaMessage.cell(0, -1, false)}));
+            });
+
+            Message received = MessageFrames.read(new DataInputStream(socket.getInputStream()));
+            assertEquals(MessageType.GAMESTATE, received.getType());
+            assertEquals(1, ((GameStateMessage) received).getGameState().getSequence());
+        }
+    }
+
+    @Test
+    void sendsChatApartFromGameStateInOneCommand() throws Exception {
+        try (Socket socket = connect()) {
+            for (int i = 0; i < 100 && server.getConnections().isEmpty(); i++) {
+                Thread.sleep(20);
+            }
+            StandardBoard board = new StandardBoard();
+            board.generateBoard();
+            GameState state = new GameState(board, true);
+            OutboundBatch.run(server, () -> {
+                server.Broadcast(new StringMessage("moved"));
+                server.Broadcast(new GameStateMessage(state, new String[0], 0));
+                server.Broadcast(new StringMessage("your turn"));
+            });
+
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            assertEquals("moved", ((StringMessage) MessageFrames.read(in)).getMessage());
+            assertEquals(MessageType.GAMESTATE, MessageFrames.read(in).getType());
+            assertEquals("your turn", ((StringMessage) MessageFrames.read(in)).getMessage());
+        }
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket("localhost", server.getPort());
+        socket.setSoTimeout(10_000);
+        return socket;
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.server;
+
+import org.example.message.BatchMessage;
+import org.example.message.EndTurnMessage;
+import org.example.message.GameStateDeltaMessage;
+import org.example.message.MessageType;
+import org.example.message.StringMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutboundQueueTest {
+
+    private static OutboundQueue queue(int capacity) {
+        Map<MessageType, OverflowPolicy> policies = new EnumMap<>(MessageType.class);
+        policies.put(MessageType.GAMESTATE, OverflowPolicy.COALESCE);
+        policies.put(MessageType.GAMESTATE_DELTA, OverflowPolicy.COALESCE);
+        policies.put(MessageType.STRING, OverflowPolicy.DROP);
+        return new OutboundQueue(capacity, policies);
+    }
+
+    @Test
+    public void testFullQueueDropsChatAndDisconnectsOnTheRest() {
+        OutboundQueue queue = queue(2);
+        byte[] first = {1};
+        byte[] second = {2};
+        assertEquals(OutboundQueue.Result.QUEUED, queue.offer(MessageType.USERLIST, first));
+        assertEquals(OutboundQueue.Result.QUEUED, queue.offer(MessageType.STRING, second));
+
+        assertEquals(OutboundQueue.Result.DROPPED, queue.offer(MessageType.STRING, new byte[]{3}));
+        assertEquals(OutboundQueue.Result.REJECTED, queue.offer(MessageType.PROMPT_MOVE, new byte[]{4}));
+        assertEquals(2, queue.size());
+        assertEquals(2, queue.getHighWater());
+        assertEquals(1, queue.getDropped());
+
+        assertSame(first, queue.poll());
+        assertSame(second, queue.poll());
+        assertNull(queue.poll());
+
+        queue.close();
+        assertEquals(OutboundQueue.Result.CLOSED, queue.offer(MessageType.STRING, first));
+    }
+
+    @Test
+    public void testFullGameStateSupersedesQueuedUpdates() {
+        OutboundQueue queue = queue(3);
+        byte[] users = {0};
+        queue.offer(MessageType.USERLIST, users);
+        queue.offer(MessageType.GAMESTATE_DELTA, new byte[]{1});
+        queue.offer(MessageType.GAMESTATE_DELTA, new byte[]{2});
+
+        byte[] snapshot = {3};
+        assertEquals(OutboundQueue.Result.QUEUED, queue.offer(MessageType.GAMESTATE, snapshot));
+        assertEquals(2, queue.getDropped());
+        assertSame(users, queue.poll());
+        assertSame(snapshot, queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testUpdateToFullQueueAsksForResync() {
+        OutboundQueue queue = queue(2);
+        byte[] users = {0};
+        queue.offer(MessageType.USERLIST, users);
+        queue.offer(MessageType.GAMESTATE_DELTA, new byte[]{1});
+
+        assertEquals(OutboundQueue.Result.RESYNC, queue.offer(MessageType.GAMESTATE_DELTA, new byte[]{2}));
+        assertEquals(1, queue.size());
+        assertEquals(2, queue.getDropped());
+
+        queue.offer(MessageType.USERLIST, users);
+        assertEquals(OutboundQueue.Result.REJECTED, queue.offer(MessageType.GAMESTATE, new byte[]{3}));
+    }
+
+    @Test
+    public void testBatchIsQueuedAsItsMostImportantMessage() {
+        StringMessage chat = new StringMessage("hi");
+        GameStateDeltaMessage delta = new GameStateDeltaMessage(1, 0, new int[0]);
+        assertEquals(MessageType.STRING, OutboundQueue.queuedType(new BatchMessage(List.of(chat, chat))));
+        assertEquals(MessageType.GAMESTATE_DELTA, OutboundQueue.queuedType(new BatchMessage(List.of(chat, delta))));
+        assertEquals(MessageType.END_TURN, OutboundQueue.queuedType(new BatchMessage(List.of(delta, new EndTurnMessage(), chat))));
+        assertEquals(MessageType.STRING, OutboundQueue.queuedType(chat));
+    }
+}
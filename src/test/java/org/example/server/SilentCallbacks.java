@@ -0,0 +1,20 @@
+package org.example.server;
+
+import org.example.message.Message;
+
+/**
+ * Callbacks that do not log, for tests opening many connections.
+ */
+final class SilentCallbacks extends ServerCallbacksHandler {
+    @Override
+    public void onNewConnection(ServerConnection connection) {}
+
+    @Override
+    public void onConnectionClosed(ServerConnection connection) {}
+
+    @Override
+    public void onMessageReceived(ServerConnection connection, Message message) {}
+
+    @Override
+    public void onMessageSent(ServerConnection connection, Message message) {}
+}
@@ -1,11 +1,19 @@
 package org.example.server.db;
 
+import org.bson.Document;
+import org.example.game_logic.BoardType;
 import org.example.game_logic.Coordinate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoOperations;
+
+import java.util.List;
+import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 @SpringBootTest
 public class GameServiceTest {
@@ -13,14 +21,19 @@ public class GameServiceTest {
     @Autowired
     private GameService gameService;
 
+    @Autowired
+    private MongoOperations mongo;
+
     @Test
     public void testGameFlow() {
         // Rozpoczęcie gry
         GameDocument game = gameService.startNewGame();
+        game.setBoardType(BoardType.STANDARD);
+        gameService.saveGame(game);
 
         // Dodanie ruchów
-        gameService.saveMove(game, new Move(new Coordinate(1, 1), new Coordinate(2, 2)));
-        gameService.saveMove(game, new Move(new Coordinate(2, 2), new Coordinate(3, 3)));
+        gameService.saveMove(game, new Move(new Coordinate(12, 0), new Coordinate(11, 1)));
+        gameService.saveMove(game, new Move(new Coordinate(11, 1), new Coordinate(10, 2)));
 
         // Pobranie gry z bazy
         GameDocument loadedGame = gameService.getGame(game.getId());
@@ -29,6 +42,53 @@ public class GameServiceTest {
         System.out.println("Liczba ruchów: " + loadedGame.getMoves().size()); // Powinno być 2
 
         assertEquals(2, loadedGame.getMoves().size());
-        assertEquals(new Coordinate(1, 1), loadedGame.getMoves().getFirst().getStartPosition());
+        assertEquals(new Coordinate(12, 0), loadedGame.getMoves().getFirst().getStartPosition());
+        assertEquals(2, loadedGame.getPackedMoves().length);
+    }
+
+    @Test
+    public void testFindGameByNameIgnoresCase() {
+        String name = "Saved-" + UUID.randomUUID();
+        GameDocument game = gameService.startNewGame(name);
+        game.setBoardType(BoardType.STANDARD);
+        gameService.saveGame(game);
+        gameService.saveMove(game, new Move(new Coordinate(12, 0), new Coordinate(11, 1)));
+
+        GameDocument found = gameService.findGameByName(name.toUpperCase()).orElseThrow();
+        assertEquals(game.getId(), found.getId());
+        assertEquals(1, found.getMoves().size());
+        assertTrue(gameService.findGameByName(name + "-missing").isEmpty());
+
+        GameSummary listed = gameService.listGames(0, 10).getContent().getFirst();
+        assertEquals(game.getId(), listed.getId());
+        assertEquals(name, listed.getName());
+    }
+
+    @Test
+    public void testRepeatedAppendIsStoredOnce() {
+        GameDocument game = gameService.startNewGame();
+        game.setBoardType(BoardType.STANDARD);
+        gameService.saveGame(game);
+        int[] moves = {PackedMoves.pack(0, 1), PackedMoves.pack(1, 3)};
+
+        gameService.appendMoves(game.getId(), 0, moves, 1, null);
+        // A retry after a lost acknowledgement, with a move made meanwhile
+        gameService.appendMoves(game.getId(), 0, new int[]{moves[0], moves[1], PackedMoves.pack(3, 6)}, 0, null);
+
+        assertEquals(3, gameService.getGame(game.getId()).getPackedMoves().length);
+        assertThrows(IllegalStateException.class, () -> gameService.appendMoves(game.getId(), 1, new int[]{moves[0]}, null, null));
+    }
+
+    @Test
+    public void testGameWithUnmigratedMovesIsNotLoaded() {
+        String id = UUID.randomUUID().toString();
+        String name = "Legacy-" + id;
+        // No board type, so the moves cannot be packed
+        mongo.insert(new Document("_id", id).append("name", name).append("normalizedName", GameDocument.normalizeName(name))
+                .append("moves", List.of(new Document("start", new Document("x", 12).append("y", 0)))), "games");
+        gameService.migrateMoves();
+
+        assertThrows(IllegalStateException.class, () -> gameService.getGame(id));
+        assertThrows(IllegalStateException.class, () -> gameService.findGameByName(name));
     }
 }
@@ -0,0 +1,112 @@
+package org.example.server.db;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveJournalTest {
+
+    /**
+     * Records the partial updates instead of sending them to Mongo, failing the first ones if asked to.
+     */
+    private static final class RecordingService extends GameService {
+        final List<List<Integer>> writes = new ArrayList<>();
+        final List<Integer> turns = new ArrayList<>();
+        final List<PositionSnapshot> snapshots = new ArrayList<>();
+        final List<Integer> froms = new ArrayList<>();
+        int failures;
+        RuntimeException failure = new DataAccessResourceFailureException("database unavailable");
+
+        RecordingService(int failures) {
+            super(null, null);
+            this.failures = failures;
+        }
+
+        @Override
+        public synchronized void appendMoves(String gameId, int from, int[] packedMoves, Integer currentTurn, PositionSnapshot snapshot) {
+            if (failures > 0) {
+                failures--;
+                throw failure;
+            }
+            writes.add(Arrays.stream(packedMoves).boxed().toList());
+            turns.add(currentTurn);
+            snapshots.add(snapshot);
+            froms.add(from);
+        }
+    }
+
+    private static int move(int i) {
+        return PackedMoves.pack(i, i + 1);
+    }
+
+    @Test
+    public void testMovesOfAWindowAreWrittenTogether() throws InterruptedException {
+        RecordingService service = new RecordingService(0);
+        MoveJournal journal = new MoveJournal(service, 200, 3);
+        for (int i = 0; i < 5; i++) {
+            journal.appendMove("game", i, move(i));
+        }
+        journal.setCurrentTurn("game", 2);
+        PositionSnapshot snapshot = new PositionSnapshot(5, 2, new byte[121]);
+        journal.setSnapshot("game", snapshot);
+        journal.close();
+
+        assertEquals(1, service.writes.size());
+        assertEquals(5, service.writes.get(0).size());
+        assertEquals(List.of(2), service.turns);
+        assertSame(snapshot, service.snapshots.get(0));
+    }
+
+    @Test
+    public void testFailedWritesAreRetriedInOrder() throws InterruptedException {
+        RecordingService service = new RecordingService(2);
+        MoveJournal journal = new MoveJournal(service, 5, 5);
+        journal.appendMove("game", 0, move(0));
+        Thread.sleep(50);
+        journal.appendMove("game", 1, move(1));
+        for (int i = 0; i < 100 && service.writes.isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+        journal.close();
+
+        List<Integer> written = new ArrayList<>();
+        service.writes.forEach(written::addAll);
+        assertEquals(List.of(move(0), move(1)), written);
+        assertEquals(0, service.froms.get(0));
+    }
+
+    @Test
+    public void testRetriesAreBounded() throws InterruptedException {
+        RecordingService service = new RecordingService(Integer.MAX_VALUE);
+        MoveJournal journal = new MoveJournal(service, 1, 3);
+        journal.appendMove("game", 0, move(0));
+        Thread.sleep(100);
+        assertTrue(journal.isAbandoned("game"));
+        journal.appendMove("game", 1, move(1));
+        journal.close();
+
+        assertTrue(service.writes.isEmpty());
+        assertEquals(Integer.MAX_VALUE - 3, service.failures);
+    }
+
+    @Test
+    public void testGapInStoredMovesAbandonsGameAtOnce() throws InterruptedException {
+        RecordingService service = new RecordingService(1);
+        service.failure = new IllegalStateException("Game has 3 moves stored, expected 0");
+        MoveJournal journal = new MoveJournal(service, 1, 5);
+        journal.appendMove("game", 0, move(0));
+        for (int i = 0; i < 100 && !journal.isAbandoned("game"); i++) {
+            Thread.sleep(10);
+        }
+        journal.setCurrentTurn("game", 1);
+        journal.close();
+
+        assertTrue(journal.isAbandoned("game"));
+        assertTrue(service.writes.isEmpty());
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.server.db;
+
+import org.example.game_logic.Board;
+import org.example.game_logic.BoardType;
+import org.example.game_logic.Coordinate;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PackedMovesTest {
+
+    @Test
+    public void testEveryNodePairRoundTrips() {
+        for (BoardType boardType : BoardType.values()) {
+            Board board = boardType.createBoard();
+            board.generateBoard();
+            assertTrue(board.getNodeCount() <= 128, "Node indices must fit in 7 bits");
+
+            List<Move> moves = new ArrayList<>();
+            for (int i = 0; i < board.getNodeCount(); i++) {
+                int j = board.getNodeCount() - 1 - i;
+                moves.add(new Move(board.getNode(i).getCoordinate(), board.getNode(j).getCoordinate()));
+            }
+            int[] packed = PackedMoves.pack(boardType, moves);
+            for (int i = 0; i < packed.length; i++) {
+                assertEquals(i, PackedMoves.startIndex(packed[i]));
+                assertEquals(board.getNodeCount() - 1 - i, PackedMoves.endIndex(packed[i]));
+                assertTrue(packed[i] < 1 << 14);
+            }
+            List<Move> unpacked = PackedMoves.unpack(boardType, packed);
+            for (int i = 0; i < moves.size(); i++) {
+                assertEquals(moves.get(i).getStartPosition(), unpacked.get(i).getStartPosition());
+                assertEquals(moves.get(i).getEndPosition(), unpacked.get(i).getEndPosition());
+            }
+        }
+    }
+
+    @Test
+    public void testCoordinatesOffTheBoardAreRejected() {
+        List<Move> moves = List.of(new Move(new Coordinate(1, 1), new Coordinate(2, 2)));
+        assertThrows(IllegalArgumentException.class, () -> PackedMoves.pack(BoardType.STANDARD, moves));
+    }
+}
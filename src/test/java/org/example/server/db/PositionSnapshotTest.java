@@ -0,0 +1,111 @@
+package org.example.server.db;
+
+import org.example.game_logic.Agent;
+import org.example.game_logic.Board;
+import org.example.game_logic.BoardType;
+import org.example.game_logic.Move;
+import org.example.game_logic.MoveGenerator;
+import org.example.game_logic.Player;
+import org.example.game_logic.StandardBoard;
+import org.example.game_logic.StandardRules;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PositionSnapshotTest {
+
+    // Agents keep their pawns, so every board gets agents of its own
+    private static List<Agent> newAgents() {
+        return List.of(new Player(null, 0), new Agent(1, false), new Agent(2, false));
+    }
+
+    private static Board setUpBoard(BoardType boardType, List<Agent> agents, boolean withPawns) {
+        StandardBoard board = (StandardBoard) boardType.createBoard();
+        board.generateBoard();
+        board.defineBases();
+        board.defineNeighbours();
+        StandardRules rules = new StandardRules();
+        rules.assignBasesToAgents(board, agents);
+        if (withPawns) {
+            rules.setupBoard(board, agents);
+        }
+        return board;
+    }
+
+    private static List<Move> play(Board board, List<Agent> agents, int turns) {
+        MoveGenerator generator = new MoveGenerator();
+        List<Move> played = new ArrayList<>();
+        for (int turn = 0; turn < turns; turn++) {
+            List<Move> moves = new ArrayList<>();
+            generator.addMoves(board, agents.get(turn % agents.size()), moves);
+            board.move(moves.get(0));
+            played.add(moves.get(0));
+        }
+        return played;
+    }
+
+    @Test
+    public void testRestoreReproducesPositionAndLocks() {
+        for (BoardType boardType : BoardType.values()) {
+            List<Agent> agents = newAgents();
+            Board board = setUpBoard(boardType, agents, true);
+            play(board, agents, 9);
+            for (int i = board.getNodeCount() - 1; i >= 0; i--) {
+                if (board.getPawn(board.getNode(i)) != null) {
+                    board.getPawn(board.getNode(i)).makeBaseLocked();
+                    break;
+                }
+            }
+            board.setSideToMove(0);
+
+            PositionSnapshot snapshot = PositionSnapshot.of(board, 9, 0);
+            List<Agent> restoredAgents = newAgents();
+            Board restored = setUpBoard(boardType, restoredAgents, false);
+            snapshot.restore(restored, restoredAgents);
+            restored.setSideToMove(0);
+
+            assertEquals(9, snapshot.getMoveCount());
+            assertEquals(board.positionHash(), restored.positionHash(), boardType.name());
+            for (int i = 0; i < board.getNodeCount(); i++) {
+                if (board.getPawn(board.getNode(i)) == null) {
+                    assertNull(restored.getPawn(restored.getNode(i)));
+                } else {
+                    assertEquals(board.getPawn(board.getNode(i)).getOwner().getId(), restored.getPawn(restored.getNode(i)).getOwner().getId());
+                    assertEquals(board.getPawn(board.getNode(i)).isBaseLocked(), restored.getPawn(restored.getNode(i)).isBaseLocked());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testReplayingTailFromSnapshotMatchesFullReplay() {
+        List<Agent> agents = newAgents();
+        Board board = setUpBoard(BoardType.STANDARD, agents, true);
+        List<Move> played = play(board, agents, 12);
+        Board atSnapshot = setUpBoard(BoardType.STANDARD, newAgents(), true);
+        for (Move move : played.subList(0, 6)) {
+            atSnapshot.move(new Move(atSnapshot.getNode(move.getStart().getIndex()), atSnapshot.getNode(move.getEnd().getIndex())));
+        }
+
+        List<Agent> resumedAgents = newAgents();
+        Board resumed = setUpBoard(BoardType.STANDARD, resumedAgents, false);
+        PositionSnapshot.of(atSnapshot, 6, 0).restore(resumed, resumedAgents);
+        for (Move move : played.subList(6, played.size())) {
+            resumed.move(new Move(resumed.getNode(move.getStart().getIndex()), resumed.getNode(move.getEnd().getIndex())));
+        }
+        board.setSideToMove(0);
+        resumed.setSideToMove(0);
+
+        assertEquals(board.positionHash(), resumed.positionHash());
+    }
+
+    @Test
+    public void testRestoreRejectsSnapshotOfOtherBoard() {
+        PositionSnapshot snapshot = new PositionSnapshot(0, 0, new byte[3]);
+        List<Agent> agents = newAgents();
+        assertThrows(IllegalArgumentException.class, () -> snapshot.restore(setUpBoard(BoardType.STANDARD, agents, false), agents));
+    }
+}
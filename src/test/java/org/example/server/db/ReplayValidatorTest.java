@@ -0,0 +1,83 @@
+package org.example.server.db;
+
+import org.example.game_logic.Agent;
+import org.example.game_logic.Board;
+import org.example.game_logic.BoardType;
+import org.example.game_logic.ChaosRules;
+import org.example.game_logic.MoveGenerator;
+import org.example.game_logic.Player;
+import org.example.game_logic.Rules;
+import org.example.game_logic.StandardBoard;
+import org.example.game_logic.StandardRules;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplayValidatorTest {
+
+    private static StandardBoard setUpBoard(Rules<StandardBoard> rules, long seed, List<Agent> agents) {
+        StandardBoard board = (StandardBoard) BoardType.STANDARD.createBoard();
+        board.generateBoard();
+        board.defineBases();
+        board.defineNeighbours();
+        rules.assignBasesToAgents(board, agents);
+        rules.setLayoutSeed(seed);
+        rules.setupBoard(board, agents);
+        return board;
+    }
+
+    private static List<Agent> newAgents() {
+        return List.of(new Player(null, 0), new Agent(1, false));
+    }
+
+    /**
+     * Plays the first generated move of each turn and returns the moves as stored.
+     */
+    private static List<Move> play(Board board, List<Agent> agents, int turns) {
+        MoveGenerator generator = new MoveGenerator();
+        List<Move> stored = new ArrayList<>();
+        for (int turn = 0; turn < turns; turn++) {
+            List<org.example.game_logic.Move> moves = new ArrayList<>();
+            generator.addMoves(board, agents.get(turn % agents.size()), moves);
+            board.move(moves.get(0));
+            stored.add(new Move(moves.get(0).getStart().getCoordinate(), moves.get(0).getEnd().getCoordinate()));
+        }
+        return stored;
+    }
+
+    @Test
+    public void testChaosGameReplaysOnTheLayoutOfItsSeed() {
+        List<Agent> agents = newAgents();
+        StandardBoard board = setUpBoard(new ChaosRules(), 42, agents);
+        List<Move> moves = play(board, agents, 10);
+        board.setSideToMove(0);
+
+        StandardBoard resumed = setUpBoard(new ChaosRules(), 42, newAgents());
+        assertEquals(moves.size(), ReplayValidator.replay(resumed, moves));
+        resumed.setSideToMove(0);
+        assertEquals(board.positionHash(), resumed.positionHash());
+    }
+
+    @Test
+    public void testReplayStopsAtFirstIllegalMove() {
+        List<Agent> agents = newAgents();
+        List<Move> moves = play(setUpBoard(new StandardRules(), 0, agents), agents, 6);
+        // Moving the same pawn from where it started again finds no pawn there
+        moves.add(4, moves.get(2));
+
+        assertEquals(4, ReplayValidator.replay(setUpBoard(new StandardRules(), 0, newAgents()), moves));
+    }
+
+    @Test
+    public void testReplayRejectsUnreachableEnd() {
+        List<Agent> agents = newAgents();
+        StandardBoard board = setUpBoard(new StandardRules(), 0, agents);
+        // From a pawn at the tip of a base to the far tip of the star
+        Move jump = new Move(board.getNode(0).getCoordinate(), board.getNode(board.getNodeCount() - 1).getCoordinate());
+
+        assertEquals(0, ReplayValidator.replay(board, List.of(jump)));
+    }
+}